@@ -0,0 +1,124 @@
+package com.project.golf.database;
+
+import com.project.golf.reservation.*;
+import com.project.golf.utils.TimeUtil;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * ConflictCheckBenchmark.java
+ *
+ * <p>JMH comparison of the tee box availability check behind a single ReentrantReadWriteLock (how
+ * Database guarded it before lock striping) against Database.hasReservationConflict with its
+ * optimistic stamped read, at 1, 8 and 32 reader threads. Built only by the jmh profile; see
+ * pom.xml for the command line.
+ *
+ * <p>Data structures: one ConflictIndex behind a ReentrantReadWriteLock for the baseline, and the
+ * Database singleton, both holding the same month of hourly bookings on every tee box. Algorithm:
+ * each thread walks its own cursor over dates, times and tee boxes so the threads read different
+ * days, and both variants parse the date and time strings per call the same way.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflictCheckBenchmark {
+
+  private static final int DAYS = 30;
+  private static final int TEE_BOXES = 18;
+  private static final String[] TIMES = {
+    "07:00", "08:00", "09:00", "10:00", "11:00", "12:00", "13:00", "14:00", "15:00", "16:00"
+  };
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(); // baseline lock
+  private final ConflictIndex index = new ConflictIndex(); // baseline index
+  private Database database;
+
+  /** Per-thread position in the date, time and tee box grid */
+  @State(Scope.Thread)
+  public static class Cursor {
+    private int n;
+    private String date;
+    private String time;
+    private String teeBox;
+
+    private void advance() {
+      n++;
+      date = date(n % DAYS);
+      time = TIMES[(n / DAYS) % TIMES.length];
+      teeBox = "Hole " + (1 + (n / 7) % TEE_BOXES);
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    database = Database.getInstance();
+    database.clearAllData();
+    int id = 0;
+    for (int day = 0; day < DAYS; day++) {
+      for (String time : TIMES) {
+        for (int box = 1; box <= TEE_BOXES; box++) {
+          Reservations r =
+              new Reservations("B" + id++, "bench", date(day), time, 4, "Hole " + box, 100.0);
+          database.addReservation(r);
+          index.add(r, r.getStartMinute(), r.getEndMinute());
+        }
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    Database.resetInstance();
+  }
+
+  @Benchmark
+  public boolean singleLock(Cursor cursor) {
+    cursor.advance();
+    lock.readLock().lock();
+    try {
+      long start = TimeUtil.toEpochMinutes(cursor.date, cursor.time);
+      return index.anyOverlap(
+          start, start + Reservations.DURATION_MINUTES, cursor.teeBox, null, false);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Benchmark
+  public boolean optimisticStripes(Cursor cursor) {
+    cursor.advance();
+    return database.hasReservationConflict(cursor.date, cursor.time, cursor.teeBox, null);
+  }
+
+  private static String date(int day) {
+    return String.format("2025-11-%02d", day + 1);
+  }
+
+  /**
+   * Runs both benchmarks at each reader thread count
+   *
+   * @param args unused
+   * @throws RunnerException if JMH fails to run
+   */
+  public static void main(String[] args) throws RunnerException {
+    for (int threads : new int[] {1, 8, 32}) {
+      Options options =
+          new OptionsBuilder()
+              .include(ConflictCheckBenchmark.class.getSimpleName())
+              .threads(threads)
+              .build();
+      new Runner(options).run();
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package com.project.golf.database;
+
+import com.project.golf.reservation.*;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * LoadBenchmark.java
+ *
+ * <p>JMH timing of Database.loadFromFile on 100,000 tee times and 1,000,000 reservations, including
+ * the hash join that gives every tee time back its bookings. Built only by the jmh profile; run it
+ * like ConflictCheckBenchmark with -Dexec.mainClass=com.project.golf.database.LoadBenchmark.
+ *
+ * <p>Data structures: teetimes.txt and reservations.txt written to the working directory, where
+ * Database reads them; any files already there are moved aside for the run and put back after.
+ * Algorithm: the tee times cover 18 holes every 30 minutes from 07:00 over consecutive future days
+ * (so nothing is archived). Each tee time gets two parties of two, the bookings the join attaches,
+ * and the remaining reservations start at quarter past or quarter to the hour, like those made
+ * with CREATE_RESERVATION, so they are probed but match no tee time.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LoadBenchmark {
+
+  private static final int TEE_TIMES = 100_000;
+  private static final int RESERVATIONS = 1_000_000;
+  private static final int BOOKINGS_PER_TEE_TIME = 2;
+  private static final int TEE_BOXES = 18;
+  private static final int SLOTS_PER_DAY = 28; // 07:00 to 20:30 every 30 minutes
+  private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+  private static final String[] FILES = {"teetimes.txt", "reservations.txt"};
+  private static final String BACKUP_SUFFIX = ".bench-backup";
+
+  private Database database;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    for (String name : FILES) {
+      File file = new File(name);
+      if (file.exists()) {
+        Files.move(
+            file.toPath(),
+            new File(name + BACKUP_SUFFIX).toPath(),
+            StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+    writeData();
+    Database.resetInstance();
+    database = Database.getInstance();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Database.resetInstance();
+    for (String name : FILES) {
+      File backup = new File(name + BACKUP_SUFFIX);
+      if (backup.exists()) {
+        Files.move(
+            backup.toPath(), new File(name).toPath(), StandardCopyOption.REPLACE_EXISTING);
+      } else {
+        new File(name).delete();
+      }
+    }
+  }
+
+  @Benchmark
+  public int load() throws IOException {
+    database.loadFromFile();
+    return database.findTeeTime("TT0").getReservedSpots(); // keeps the join from being elided
+  }
+
+  /** Writes the generated tee times and reservations in the data file formats */
+  private static void writeData() throws IOException {
+    try (PrintWriter teeTimes = new PrintWriter(new BufferedWriter(new FileWriter(FILES[0])));
+        PrintWriter reservations = new PrintWriter(new BufferedWriter(new FileWriter(FILES[1])))) {
+      int id = 0;
+      for (int n = 0; n < TEE_TIMES; n++) {
+        String date = date(n);
+        String time = time(n, 0);
+        String teeBox = "Hole " + (1 + n % TEE_BOXES);
+        teeTimes.println(new TeeTime("TT" + n, date, time, teeBox, 4, 30.0).toFileString());
+        for (int b = 0; b < BOOKINGS_PER_TEE_TIME; b++) {
+          reservations.println(
+              new Reservations("R" + id++, "bench", date, time, 2, teeBox, 60.0).toFileString());
+        }
+      }
+      for (int n = 0; id < RESERVATIONS; n++) {
+        int slot = n % TEE_TIMES;
+        reservations.println(
+            new Reservations(
+                    "R" + id++,
+                    "bench",
+                    date(slot),
+                    time(slot, n % 2 == 0 ? 15 : 45),
+                    2,
+                    "Hole " + (1 + slot % TEE_BOXES),
+                    60.0)
+                .toFileString());
+      }
+    }
+  }
+
+  private static String date(int n) {
+    return FIRST_DAY.plusDays(n / (TEE_BOXES * SLOTS_PER_DAY)).toString();
+  }
+
+  private static String time(int n, int offset) {
+    int minute = 7 * 60 + (n / TEE_BOXES % SLOTS_PER_DAY) * 30 + offset;
+    return String.format("%02d:%02d", minute / 60, minute % 60);
+  }
+
+  /**
+   * Runs the load benchmark
+   *
+   * @param args unused
+   * @throws RunnerException if JMH fails to run
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder().include(LoadBenchmark.class.getSimpleName()).build();
+    new Runner(options).run();
+  }
+}
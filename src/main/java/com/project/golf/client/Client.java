@@ -124,6 +124,40 @@ public class Client implements ClientInterface {
     return resp;
   }
 
+  /**
+   * Asks the server for the earliest tee times a party can book
+   *
+   * @param fromDate first date to search (format: YYYY-MM-DD)
+   * @param toDate last date to search (format: YYYY-MM-DD)
+   * @param partySize number of golfers in the party
+   * @param count maximum number of tee times to return
+   * @param earliest earliest start time, or null for any
+   * @param latest latest start time, or null for any
+   * @param holes comma-separated hole numbers such as "1,3,7", or null for every hole
+   * @return server response with the open tee times, earliest first
+   * @throws IOException if I/O error occurs
+   */
+  public String findOpenTeeTimes(
+      String fromDate,
+      String toDate,
+      int partySize,
+      int count,
+      String earliest,
+      String latest,
+      String holes)
+      throws IOException {
+    return sendCommand(
+        String.format(
+            "FIND_TT|%s|%s|%d|%d|%s|%s|%s",
+            fromDate,
+            toDate,
+            partySize,
+            count,
+            earliest == null ? "" : earliest,
+            latest == null ? "" : latest,
+            holes == null ? "" : holes));
+  }
+
   /**
    * Requests list of all pending events
    *
@@ -217,6 +251,18 @@ public class Client implements ClientInterface {
     return sendCommand(String.format("GET_RESERVATIONS|%s", username));
   }
 
+  /**
+   * Retrieves only the reservations for a user that have not started yet
+   *
+   * @param username the user whose reservations to retrieve
+   * @return server response with the user's upcoming reservations, earliest first
+   * @throws IOException if I/O error occurs
+   */
+  @Override
+  public String getUpcomingReservations(String username) throws IOException {
+    return sendCommand(String.format("GET_RESERVATIONS|%s|UPCOMING", username));
+  }
+
   /**
    * Cancels an existing reservation
    *
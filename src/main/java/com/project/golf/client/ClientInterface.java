@@ -42,6 +42,8 @@ public interface ClientInterface {
 
   String getReservations(String username) throws IOException;
 
+  String getUpcomingReservations(String username) throws IOException;
+
   String cancelReservation(String reservationId) throws IOException;
 
   boolean addUser(
@@ -0,0 +1,281 @@
+package com.project.golf.database;
+
+import com.project.golf.reservation.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * AvailabilityMap.java
+ *
+ * <p>Per-date occupancy grid used by Database to answer "is hole 7 free from 10:30 for two hours"
+ * and to lay out a day's tee sheet with bit tests instead of walking reservation objects. Only
+ * approved items occupy the grid; Database reports every approval so the grid follows the pending
+ * flag. Like ConflictIndex, every day is an immutable value that a change replaces, so queries run
+ * with no lock held and writers to one day are serialized by that day's Database stripe.
+ *
+ * <p>Data structures: ConcurrentHashMap from epoch day to an immutable DayGrid, which holds one
+ * Layer per tee box plus a course-wide Layer for events. A Layer is a bitset with one bit per
+ * five-minute slot of the day, a count per slot of the items covering it (so removing one of two
+ * overlapping bookings leaves the slot busy) and a running count of busy slots, the day's used
+ * capacity. Algorithm: An item marks every slot its [start, end) interval touches, on every day it
+ * touches. A query whose ends fall on slot boundaries covers whole slots, so it overlaps an item
+ * exactly when one of its slots is marked, which is a masked test of a few words per day. Queries
+ * off the slot boundaries get UNKNOWN and are left to ConflictIndex. Inverted intervals and ones
+ * longer than a month are kept in a small side list and checked on every query, as in
+ * ConflictIndex, so answers match it exactly.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+final class AvailabilityMap {
+
+  static final int SLOT_MINUTES = 5; // divides Reservations.DURATION_MINUTES and every HH:MM on 5s
+  static final int SLOTS_PER_DAY = 1440 / SLOT_MINUTES;
+  private static final int WORDS = (SLOTS_PER_DAY + 63) / 64;
+  private static final long MINUTES_PER_DAY = 1440;
+  private static final long MAX_MAPPED_DAYS = 31; // longer intervals go to the side list
+
+  // Results of probe
+  static final int FREE = 0;
+  static final int BUSY = 1;
+  static final int UNKNOWN = 2;
+
+  // epoch day -> grid; grids are replaced, never modified
+  private final ConcurrentHashMap<Long, DayGrid> days = new ConcurrentHashMap<>();
+  private final CopyOnWriteArrayList<Reservations> unmapped = new CopyOnWriteArrayList<>();
+
+  /**
+   * Adds a newly stored item; pending items only occupy the grid once approved
+   *
+   * @param item the reservation or event
+   */
+  void add(Reservations item) {
+    if (!isMappable(item)) {
+      unmapped.add(item); // checked on every query, pending or not
+    } else if (!item.isPending()) {
+      mark(item, 1);
+    }
+  }
+
+  /**
+   * Removes an item previously added, with the pending flag it has now
+   *
+   * @param item the reservation or event (matched by identity in the side list)
+   */
+  void remove(Reservations item) {
+    if (!isMappable(item)) {
+      unmapped.removeIf(r -> r == item);
+    } else if (!item.isPending()) {
+      mark(item, -1);
+    }
+  }
+
+  /**
+   * Records that a stored item's pending flag was just cleared
+   *
+   * @param item the reservation or event, no longer pending
+   */
+  void approve(Reservations item) {
+    if (isMappable(item)) {
+      mark(item, 1);
+    }
+  }
+
+  /** Removes every item from the map */
+  void clear() {
+    days.clear();
+    unmapped.clear();
+  }
+
+  /**
+   * Checks whether an approved item overlaps [start, end) on the course-wide layer or one tee box
+   *
+   * @param start start minute of the query
+   * @param end end minute of the query
+   * @param teeBox tee box to check in addition to course-wide events
+   * @return FREE, BUSY, or UNKNOWN if the range does not start and end on slot boundaries
+   */
+  int probe(long start, long end, String teeBox) {
+    for (Reservations r : unmapped) {
+      if (!r.isPending()
+          && (r.isEvent() || teeBox.equals(r.getTeeBox()))
+          && start < r.getEndMinute()
+          && end > r.getStartMinute()) {
+        return BUSY;
+      }
+    }
+    if (end <= start) {
+      return FREE; // an empty query range can only hit the side list above
+    }
+    if (Math.floorMod(start, SLOT_MINUTES) != 0 || Math.floorMod(end, SLOT_MINUTES) != 0) {
+      return UNKNOWN;
+    }
+    for (long day = dayOf(start); day <= dayOf(end - 1); day++) {
+      DayGrid grid = days.get(day);
+      if (grid == null) {
+        continue;
+      }
+      long dayStart = day * MINUTES_PER_DAY;
+      int from = (int) ((Math.max(start, dayStart) - dayStart) / SLOT_MINUTES);
+      int to = (int) ((Math.min(end, dayStart + MINUTES_PER_DAY) - dayStart) / SLOT_MINUTES);
+      if (grid.courseWide.anySet(from, to)) {
+        return BUSY;
+      }
+      Layer layer = grid.teeBoxes.get(teeBox);
+      if (layer != null && layer.anySet(from, to)) {
+        return BUSY;
+      }
+    }
+    return FREE;
+  }
+
+  /**
+   * Gets how many of a day's slots are used on one tee box, course-wide events included
+   *
+   * @param day epoch day
+   * @param teeBox tee box name
+   * @return number of busy slots out of SLOTS_PER_DAY
+   */
+  int usedSlots(long day, String teeBox) {
+    DayGrid grid = days.get(day);
+    if (grid == null) {
+      return 0;
+    }
+    Layer layer = grid.teeBoxes.get(teeBox);
+    if (layer == null || grid.courseWide.used == 0) {
+      return grid.courseWide.used + (layer == null ? 0 : layer.used);
+    }
+    int used = 0;
+    for (int w = 0; w < WORDS; w++) {
+      used += Long.bitCount(grid.courseWide.bits[w] | layer.bits[w]);
+    }
+    return used;
+  }
+
+  /**
+   * Checks whether every query about an item's range can be answered from the grid
+   *
+   * @param item the reservation or event
+   * @return true if its interval is not inverted and spans at most a month
+   */
+  private static boolean isMappable(Reservations item) {
+    long start = item.getStartMinute();
+    long end = item.getEndMinute();
+    return end > start && end - start <= MAX_MAPPED_DAYS * MINUTES_PER_DAY;
+  }
+
+  /**
+   * Adds or removes an item's cover on every day it touches Caller must hold the write locks of
+   * those days' stripes
+   *
+   * @param item the reservation or event
+   * @param delta 1 to add, -1 to remove
+   */
+  private void mark(Reservations item, int delta) {
+    long start = item.getStartMinute();
+    long end = item.getEndMinute();
+    String teeBox = item.isEvent() ? null : item.getTeeBox();
+    for (long day = dayOf(start); day <= dayOf(end - 1); day++) {
+      long dayStart = day * MINUTES_PER_DAY;
+      int from = (int) ((Math.max(start, dayStart) - dayStart) / SLOT_MINUTES);
+      int to =
+          (int)
+              ((Math.min(end, dayStart + MINUTES_PER_DAY) - dayStart + SLOT_MINUTES - 1)
+                  / SLOT_MINUTES);
+      days.compute(
+          day,
+          (d, grid) -> {
+            DayGrid next = (grid == null ? DayGrid.EMPTY : grid).with(teeBox, from, to, delta);
+            return next.isEmpty() ? null : next;
+          });
+    }
+  }
+
+  private static long dayOf(long minute) {
+    return Math.floorDiv(minute, MINUTES_PER_DAY);
+  }
+
+  /** All layers for a single day, immutable once built */
+  private static final class DayGrid {
+    private static final DayGrid EMPTY = new DayGrid(Layer.EMPTY, new HashMap<>());
+
+    private final Layer courseWide; // events block every tee box
+    private final HashMap<String, Layer> teeBoxes; // never modified after construction
+
+    private DayGrid(Layer courseWide, HashMap<String, Layer> teeBoxes) {
+      this.courseWide = courseWide;
+      this.teeBoxes = teeBoxes;
+    }
+
+    /** Copy with [from, to) covered delta more times on one tee box, or course-wide if null */
+    private DayGrid with(String teeBox, int from, int to, int delta) {
+      if (teeBox == null) {
+        return new DayGrid(courseWide.with(from, to, delta), teeBoxes);
+      }
+      HashMap<String, Layer> next = new HashMap<>(teeBoxes);
+      Layer layer = next.getOrDefault(teeBox, Layer.EMPTY).with(from, to, delta);
+      if (layer.used == 0) {
+        next.remove(teeBox);
+      } else {
+        next.put(teeBox, layer);
+      }
+      return new DayGrid(courseWide, next);
+    }
+
+    private boolean isEmpty() {
+      return courseWide.used == 0 && teeBoxes.isEmpty();
+    }
+  }
+
+  /** One day of slots on one layer, immutable once built */
+  private static final class Layer {
+    private static final Layer EMPTY = new Layer(new long[WORDS], new short[SLOTS_PER_DAY], 0);
+
+    private final long[] bits; // bit set while count > 0
+    private final short[] counts; // items covering each slot
+    private final int used; // number of set bits
+
+    private Layer(long[] bits, short[] counts, int used) {
+      this.bits = bits;
+      this.counts = counts;
+      this.used = used;
+    }
+
+    private Layer with(int from, int to, int delta) {
+      long[] nextBits = Arrays.copyOf(bits, WORDS);
+      short[] nextCounts = Arrays.copyOf(counts, SLOTS_PER_DAY);
+      int nextUsed = used;
+      for (int slot = from; slot < to; slot++) {
+        int count = Math.max(0, nextCounts[slot] + delta);
+        if (count == 0 && nextCounts[slot] != 0) {
+          nextBits[slot >>> 6] &= ~(1L << slot);
+          nextUsed--;
+        } else if (count != 0 && nextCounts[slot] == 0) {
+          nextBits[slot >>> 6] |= 1L << slot;
+          nextUsed++;
+        }
+        nextCounts[slot] = (short) count;
+      }
+      return new Layer(nextBits, nextCounts, nextUsed);
+    }
+
+    /** Whether any slot in [from, to) is set, a word at a time */
+    private boolean anySet(int from, int to) {
+      for (int w = from >>> 6; w <= (to - 1) >>> 6; w++) {
+        long mask = -1L;
+        if (w == from >>> 6) {
+          mask &= -1L << from;
+        }
+        if (w == (to - 1) >>> 6) {
+          mask &= -1L >>> (63 - ((to - 1) & 63));
+        }
+        if ((bits[w] & mask) != 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
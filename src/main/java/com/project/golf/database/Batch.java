@@ -0,0 +1,140 @@
+package com.project.golf.database;
+
+import com.project.golf.reservation.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch.java
+ *
+ * <p>A list of reservation, event and tee time changes that Database.apply performs together: every
+ * stripe the changes touch is locked once, the changes run in one pass in the order they were
+ * added, and journal mode records them as a single BATCH line, so a crash keeps all of them or none.
+ * Admin actions that touch many bookings at once, such as approving an event over a busy weekend,
+ * cost one lock acquisition and one persistence record instead of one per booking.
+ *
+ * <p>Data structures: ArrayList of operations, each an op code plus the ID or record it applies
+ * to. Algorithm: Each operation means the same as the matching single-item Database method; a
+ * removal of an ID that is absent, or an add whose ID is taken, is skipped and reported as not
+ * applied.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+public final class Batch {
+
+  static final String ADD_RES = "ADD_RES";
+  static final String DEL_RES = "DEL_RES";
+  static final String APPROVE = "APPROVE";
+  static final String ADD_TT = "ADD_TT";
+  static final String DEL_TT = "DEL_TT";
+
+  /** One queued change */
+  static final class Op {
+    final String code; // one of the op codes above, as used in journal records
+    final String id; // ID the change applies to
+    final Reservations reservation; // record to add, for ADD_RES
+    final TeeTime teeTime; // record to add, for ADD_TT
+
+    private Op(String code, String id, Reservations reservation, TeeTime teeTime) {
+      this.code = code;
+      this.id = id;
+      this.reservation = reservation;
+      this.teeTime = teeTime;
+    }
+  }
+
+  private final ArrayList<Op> ops = new ArrayList<>();
+
+  /**
+   * Queues a new reservation, as Database.addReservation would add it
+   *
+   * @param reservation the reservation to add
+   * @return this batch
+   */
+  public Batch addReservation(Reservations reservation) {
+    if (reservation != null) {
+      ops.add(new Op(ADD_RES, reservation.getReservationId(), reservation, null));
+    }
+    return this;
+  }
+
+  /**
+   * Queues removal of a reservation and of the event filed under the same ID
+   *
+   * @param reservationId ID of the reservation or event to remove
+   * @return this batch
+   */
+  public Batch removeReservation(String reservationId) {
+    if (reservationId != null) {
+      ops.add(new Op(DEL_RES, reservationId, null, null));
+    }
+    return this;
+  }
+
+  /**
+   * Queues clearing the pending flag of an event, without touching its conflicts
+   *
+   * @param eventId ID of the pending event
+   * @return this batch
+   */
+  public Batch approveEvent(String eventId) {
+    if (eventId != null) {
+      ops.add(new Op(APPROVE, eventId, null, null));
+    }
+    return this;
+  }
+
+  /**
+   * Queues a new tee time, as Database.addTeeTime would add it
+   *
+   * @param teeTime the tee time to add
+   * @return this batch
+   */
+  public Batch addTeeTime(TeeTime teeTime) {
+    if (teeTime != null) {
+      ops.add(new Op(ADD_TT, teeTime.getTeeTimeId(), null, teeTime));
+    }
+    return this;
+  }
+
+  /**
+   * Queues removal of a tee time
+   *
+   * @param teeTimeId ID of the tee time to remove
+   * @return this batch
+   */
+  public Batch removeTeeTime(String teeTimeId) {
+    if (teeTimeId != null) {
+      ops.add(new Op(DEL_TT, teeTimeId, null, null));
+    }
+    return this;
+  }
+
+  /**
+   * Gets the number of queued changes
+   *
+   * @return how many operations apply will perform
+   */
+  public int size() {
+    return ops.size();
+  }
+
+  /**
+   * Checks whether anything is queued
+   *
+   * @return true if the batch has no operations
+   */
+  public boolean isEmpty() {
+    return ops.isEmpty();
+  }
+
+  /**
+   * Gets the queued operations in order
+   *
+   * @return the operations, not to be modified
+   */
+  List<Op> ops() {
+    return ops;
+  }
+}
@@ -0,0 +1,272 @@
+package com.project.golf.database;
+
+import com.project.golf.events.*;
+import com.project.golf.reservation.*;
+import com.project.golf.settings.*;
+import com.project.golf.users.*;
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+
+/**
+ * BinarySnapshot.java
+ *
+ * <p>Versioned binary snapshot format used by Database when database.snapshotFormat=binary. Holds
+ * every user, reservation, event, tee time and the course settings in one file that is read back
+ * through a MappedByteBuffer, so loading does no line splitting or number parsing.
+ *
+ * <p>Data structures: a string table (each distinct string stored once as UTF-8 and referred to by
+ * index) followed by fixed-width records of int string indexes, ints, doubles and flag bytes.
+ * Algorithm: Encoding interns strings into a HashMap while writing the records, then emits the
+ * header, the table and the records. Decoding maps the file, decodes the table once into a String
+ * array and builds each object straight from primitive reads, so repeated dates, times, tee boxes
+ * and usernames share one String instance. Layout (big-endian): magic, version, string table,
+ * users, reservations (kind byte, events carry an end date and time), tee times, settings line.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+final class BinarySnapshot {
+
+  static final int MAGIC = 0x50545342; // "PTSB"
+  static final int VERSION = 1;
+
+  private static final int NO_STRING = -1; // string index standing in for null
+  private static final byte KIND_RESERVATION = 0;
+  private static final byte KIND_EVENT = 1;
+  private static final int FLAG_PAID = 1; // users: hasPaid, reservations: isPaid
+  private static final int FLAG_ADMIN = 2; // users only
+  private static final int FLAG_PENDING = 2; // reservations only
+
+  /** Everything read back from a snapshot */
+  static final class Contents {
+    final ArrayList<User> users = new ArrayList<>();
+    final ArrayList<Reservations> reservations = new ArrayList<>();
+    final ArrayList<TeeTime> teeTimes = new ArrayList<>();
+    CourseSettings settings; // null if the snapshot held none or it did not parse
+  }
+
+  private BinarySnapshot() {}
+
+  /**
+   * Encodes the given collections into a snapshot image
+   *
+   * @param users all users
+   * @param reservations all reservations and events
+   * @param teeTimes all tee times
+   * @param settings course settings
+   * @return the complete file contents
+   * @throws IOException never in practice; declared by the in-memory streams
+   */
+  static byte[] encode(
+      Collection<User> users,
+      Collection<Reservations> reservations,
+      Collection<TeeTime> teeTimes,
+      CourseSettings settings)
+      throws IOException {
+    HashMap<String, Integer> ids = new HashMap<>();
+    ArrayList<String> table = new ArrayList<>();
+    ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+    DataOutputStream records = new DataOutputStream(recordBytes);
+
+    records.writeInt(users.size());
+    for (User u : users) {
+      records.writeInt(intern(u.getUsername(), ids, table));
+      records.writeInt(intern(u.getPassword(), ids, table));
+      records.writeInt(intern(u.getFirstName(), ids, table));
+      records.writeInt(intern(u.getLastName(), ids, table));
+      records.writeInt(intern(u.getEmail(), ids, table));
+      records.writeByte((u.hasPaid() ? FLAG_PAID : 0) | (u.isAdmin() ? FLAG_ADMIN : 0));
+    }
+
+    records.writeInt(reservations.size());
+    for (Reservations r : reservations) {
+      records.writeByte(r instanceof Event ? KIND_EVENT : KIND_RESERVATION);
+      records.writeInt(intern(r.getReservationId(), ids, table));
+      records.writeInt(intern(r.getUsername(), ids, table));
+      records.writeInt(intern(r.getDate(), ids, table));
+      records.writeInt(intern(r.getTime(), ids, table));
+      records.writeInt(intern(r.getTeeBox(), ids, table));
+      records.writeInt(r.getPartySize());
+      records.writeDouble(r.getPrice());
+      records.writeByte((r.getIsPaid() ? FLAG_PAID : 0) | (r.isPending() ? FLAG_PENDING : 0));
+      if (r instanceof Event) {
+        Event e = (Event) r;
+        records.writeInt(intern(e.getEndDate(), ids, table));
+        records.writeInt(intern(e.getEndTime(), ids, table));
+      }
+    }
+
+    records.writeInt(teeTimes.size());
+    for (TeeTime tt : teeTimes) {
+      records.writeInt(intern(tt.getTeeTimeId(), ids, table));
+      records.writeInt(intern(tt.getDate(), ids, table));
+      records.writeInt(intern(tt.getTime(), ids, table));
+      records.writeInt(intern(tt.getTeeBox(), ids, table));
+      records.writeInt(tt.getMaxPartySize());
+      records.writeDouble(tt.getPricePerPerson());
+    }
+
+    // Settings are a single small record, so they keep their text form
+    records.writeInt(settings == null ? NO_STRING : intern(settings.toFileString(), ids, table));
+    records.flush();
+
+    ByteArrayOutputStream image = new ByteArrayOutputStream(recordBytes.size() + 64);
+    DataOutputStream out = new DataOutputStream(image);
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(table.size());
+    for (String s : table) {
+      byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+    recordBytes.writeTo(out);
+    out.flush();
+    return image.toByteArray();
+  }
+
+  /**
+   * Maps a snapshot file and decodes it
+   *
+   * @param file the snapshot file
+   * @return decoded contents
+   * @throws IOException if the file cannot be read or is not a valid snapshot
+   */
+  static Contents read(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return decode(buffer);
+    }
+  }
+
+  /**
+   * Decodes a snapshot image
+   *
+   * @param buf buffer positioned at the start of the image
+   * @return decoded contents
+   * @throws IOException if the image is not a valid snapshot of a supported version
+   */
+  static Contents decode(ByteBuffer buf) throws IOException {
+    try {
+      if (buf.getInt() != MAGIC) {
+        throw new IOException("Not a ParTee snapshot");
+      }
+      int version = buf.getInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported snapshot version " + version);
+      }
+
+      String[] strings = new String[buf.getInt()];
+      byte[] scratch = new byte[64];
+      for (int i = 0; i < strings.length; i++) {
+        int length = buf.getInt();
+        if (length > scratch.length) {
+          scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buf.get(scratch, 0, length);
+        strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+      }
+
+      Contents contents = new Contents();
+      int userCount = buf.getInt();
+      contents.users.ensureCapacity(userCount);
+      for (int i = 0; i < userCount; i++) {
+        String username = string(strings, buf.getInt());
+        String password = string(strings, buf.getInt());
+        String firstName = string(strings, buf.getInt());
+        String lastName = string(strings, buf.getInt());
+        String email = string(strings, buf.getInt());
+        int flags = buf.get();
+        contents.users.add(
+            new User(
+                username,
+                password,
+                firstName,
+                lastName,
+                email,
+                (flags & FLAG_PAID) != 0,
+                (flags & FLAG_ADMIN) != 0));
+      }
+
+      int reservationCount = buf.getInt();
+      contents.reservations.ensureCapacity(reservationCount);
+      for (int i = 0; i < reservationCount; i++) {
+        byte kind = buf.get();
+        String id = string(strings, buf.getInt());
+        String username = string(strings, buf.getInt());
+        String date = string(strings, buf.getInt());
+        String time = string(strings, buf.getInt());
+        String teeBox = string(strings, buf.getInt());
+        int partySize = buf.getInt();
+        double price = buf.getDouble();
+        int flags = buf.get();
+        Reservations r;
+        if (kind == KIND_EVENT) {
+          String endDate = string(strings, buf.getInt());
+          String endTime = string(strings, buf.getInt());
+          r = new Event(id, username, date, time, partySize, teeBox, price, endDate, endTime);
+          r.setIsPaid((flags & FLAG_PAID) != 0);
+          r.setPending((flags & FLAG_PENDING) != 0);
+        } else if (kind == KIND_RESERVATION) {
+          r =
+              new Reservations(
+                  id,
+                  username,
+                  date,
+                  time,
+                  partySize,
+                  teeBox,
+                  price,
+                  (flags & FLAG_PAID) != 0,
+                  (flags & FLAG_PENDING) != 0);
+        } else {
+          throw new IOException("Unknown reservation kind " + kind);
+        }
+        contents.reservations.add(r);
+      }
+
+      int teeTimeCount = buf.getInt();
+      contents.teeTimes.ensureCapacity(teeTimeCount);
+      for (int i = 0; i < teeTimeCount; i++) {
+        String id = string(strings, buf.getInt());
+        String date = string(strings, buf.getInt());
+        String time = string(strings, buf.getInt());
+        String teeBox = string(strings, buf.getInt());
+        int maxPartySize = buf.getInt();
+        double pricePerPerson = buf.getDouble();
+        contents.teeTimes.add(new TeeTime(id, date, time, teeBox, maxPartySize, pricePerPerson));
+      }
+
+      String settingsLine = string(strings, buf.getInt());
+      contents.settings = settingsLine == null ? null : CourseSettings.fromFileString(settingsLine);
+      return contents;
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+      throw new IOException("Truncated or corrupt snapshot", e);
+    }
+  }
+
+  private static int intern(String s, HashMap<String, Integer> ids, ArrayList<String> table) {
+    if (s == null) {
+      return NO_STRING;
+    }
+    Integer id = ids.get(s);
+    if (id == null) {
+      id = table.size();
+      ids.put(s, id);
+      table.add(s);
+    }
+    return id;
+  }
+
+  private static String string(String[] strings, int id) {
+    return id == NO_STRING ? null : strings[id];
+  }
+}
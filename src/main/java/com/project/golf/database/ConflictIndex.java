@@ -0,0 +1,335 @@
+package com.project.golf.database;
+
+import com.project.golf.reservation.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * ConflictIndex.java
+ *
+ * <p>Date-partitioned interval index used by Database to answer "does [start, end) on this tee box
+ * overlap anything" without scanning every reservation ever stored. Every day bucket is an
+ * immutable value that a change replaces (copy-on-write), so a query can run with no lock held and
+ * never sees a half-made change. Writers to one day must still be serialized, which the Database
+ * lock stripe for that day does; Database also validates multi-day queries against its stripe
+ * stamps so they see every bucket from one moment.
+ *
+ * <p>Data structures: ConcurrentHashMap from day bucket to an immutable DayPartition, which holds
+ * one IntervalSet per tee box plus a course-wide IntervalSet for events. Each IntervalSet is an
+ * array of entries sorted by start minute. Algorithm: An item is filed under every day it touches,
+ * so a query only visits the days it covers. Within a day, only starts in (start - longest
+ * interval, end) can overlap, which is a contiguous run found by binary search in O(log n). A
+ * change copies only the one layer it touches, which holds a single day's bookings for one tee box.
+ * Intervals that are inverted or span more than a month are kept in a small copy-on-write side list
+ * and checked on every query so results match a full scan exactly.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+final class ConflictIndex {
+
+  private static final long MINUTES_PER_DAY = 1440;
+  private static final long MAX_PARTITIONED_DAYS = 31; // longer intervals go to the side list
+
+  // day bucket -> partition; partitions are replaced, never modified
+  private final ConcurrentHashMap<Long, DayPartition> days = new ConcurrentHashMap<>();
+  private final CopyOnWriteArrayList<Entry> unpartitioned = new CopyOnWriteArrayList<>();
+
+  /**
+   * Adds an item covering [start, end)
+   *
+   * @param item the reservation or event
+   * @param start start minute
+   * @param end end minute
+   */
+  void add(Reservations item, long start, long end) {
+    Entry entry = new Entry(item, start, end);
+    if (!isPartitionable(start, end)) {
+      unpartitioned.add(entry); // odd or very long intervals
+      return;
+    }
+    for (long day = dayOf(start); day <= dayOf(end - 1); day++) {
+      days.compute(
+          day, (d, partition) -> (partition == null ? DayPartition.EMPTY : partition).with(entry));
+    }
+  }
+
+  /**
+   * Removes an item previously added with the same start and end
+   *
+   * @param item the reservation or event (matched by identity)
+   * @param start start minute it was added with
+   * @param end end minute it was added with
+   */
+  void remove(Reservations item, long start, long end) {
+    if (!isPartitionable(start, end)) {
+      unpartitioned.removeIf(e -> e.item == item);
+      return;
+    }
+    for (long day = dayOf(start); day <= dayOf(end - 1); day++) {
+      days.computeIfPresent(
+          day,
+          (d, partition) -> {
+            DayPartition next = partition.without(item, start);
+            return next.isEmpty() ? null : next;
+          });
+    }
+  }
+
+  /** Removes every item from the index */
+  void clear() {
+    days.clear();
+    unpartitioned.clear();
+  }
+
+  /**
+   * Checks whether anything overlaps [start, end) on the course-wide layer or, if given, one tee
+   * box
+   *
+   * @param start start minute of the query
+   * @param end end minute of the query
+   * @param teeBox tee box to check in addition to course-wide events, or null for events only
+   * @param excludeId reservation ID to ignore (for editing), or null
+   * @param includePending whether pending items count as conflicts
+   * @return true if an overlapping item was found
+   */
+  boolean anyOverlap(
+      long start, long end, String teeBox, String excludeId, boolean includePending) {
+    for (Entry e : unpartitioned) {
+      if ((e.item.isEvent() || (teeBox != null && teeBox.equals(e.item.getTeeBox())))
+          && e.matches(start, end, excludeId, includePending)) {
+        return true;
+      }
+    }
+    if (end <= start) {
+      return false; // an empty query range can only hit the side list above
+    }
+    for (long day = dayOf(start); day <= dayOf(end - 1); day++) {
+      DayPartition partition = days.get(day);
+      if (partition == null) {
+        continue;
+      }
+      if (partition.courseWide.anyOverlap(start, end, excludeId, includePending)) {
+        return true;
+      }
+      if (teeBox != null) {
+        IntervalSet layer = partition.teeBoxes.get(teeBox);
+        if (layer != null && layer.anyOverlap(start, end, excludeId, includePending)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Collects every item on any layer overlapping [start, end), pending or not
+   *
+   * @param start start minute of the query
+   * @param end end minute of the query
+   * @param excludeId reservation ID to ignore (the item being checked), or null
+   * @param out list the overlapping items are appended to
+   */
+  void collectOverlaps(long start, long end, String excludeId, ArrayList<Reservations> out) {
+    Set<Reservations> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Entry e : unpartitioned) {
+      if (e.matches(start, end, excludeId, true) && seen.add(e.item)) {
+        out.add(e.item);
+      }
+    }
+    if (end <= start) {
+      return;
+    }
+    for (long day = dayOf(start); day <= dayOf(end - 1); day++) {
+      DayPartition partition = days.get(day);
+      if (partition == null) {
+        continue;
+      }
+      partition.courseWide.collect(start, end, excludeId, seen, out);
+      for (IntervalSet layer : partition.teeBoxes.values()) {
+        layer.collect(start, end, excludeId, seen, out);
+      }
+    }
+  }
+
+  private static boolean isPartitionable(long start, long end) {
+    return end > start && end - start <= MAX_PARTITIONED_DAYS * MINUTES_PER_DAY;
+  }
+
+  private static long dayOf(long minute) {
+    return Math.floorDiv(minute, MINUTES_PER_DAY);
+  }
+
+  /** One indexed item with the interval it was filed under */
+  private static final class Entry {
+    private final Reservations item;
+    private final long start;
+    private final long end;
+
+    private Entry(Reservations item, long start, long end) {
+      this.item = item;
+      this.start = start;
+      this.end = end;
+    }
+
+    private boolean matches(long qStart, long qEnd, String excludeId, boolean includePending) {
+      if (excludeId != null && excludeId.equals(item.getReservationId())) {
+        return false;
+      }
+      if (!includePending && item.isPending()) {
+        return false;
+      }
+      return qStart < end && qEnd > start;
+    }
+  }
+
+  /** All layers for a single day bucket, immutable once built */
+  private static final class DayPartition {
+    private static final DayPartition EMPTY = new DayPartition(IntervalSet.EMPTY, new HashMap<>());
+
+    private final IntervalSet courseWide; // events block every tee box
+    private final HashMap<String, IntervalSet> teeBoxes; // never modified after construction
+
+    private DayPartition(IntervalSet courseWide, HashMap<String, IntervalSet> teeBoxes) {
+      this.courseWide = courseWide;
+      this.teeBoxes = teeBoxes;
+    }
+
+    private DayPartition with(Entry entry) {
+      if (entry.item.isEvent()) {
+        return new DayPartition(courseWide.with(entry), teeBoxes);
+      }
+      HashMap<String, IntervalSet> next = new HashMap<>(teeBoxes);
+      String teeBox = entry.item.getTeeBox();
+      next.put(teeBox, next.getOrDefault(teeBox, IntervalSet.EMPTY).with(entry));
+      return new DayPartition(courseWide, next);
+    }
+
+    private DayPartition without(Reservations item, long start) {
+      if (item.isEvent()) {
+        IntervalSet layer = courseWide.without(item, start);
+        return layer == courseWide ? this : new DayPartition(layer, teeBoxes);
+      }
+      IntervalSet layer = teeBoxes.get(item.getTeeBox());
+      if (layer == null) {
+        return this;
+      }
+      IntervalSet remaining = layer.without(item, start);
+      if (remaining == layer) {
+        return this;
+      }
+      HashMap<String, IntervalSet> next = new HashMap<>(teeBoxes);
+      if (remaining.isEmpty()) {
+        next.remove(item.getTeeBox());
+      } else {
+        next.put(item.getTeeBox(), remaining);
+      }
+      return new DayPartition(courseWide, next);
+    }
+
+    private boolean isEmpty() {
+      return courseWide.isEmpty() && teeBoxes.isEmpty();
+    }
+  }
+
+  /**
+   * Immutable intervals ordered by start minute (equal starts in insertion order), with the
+   * longest length seen to bound range scans
+   */
+  private static final class IntervalSet {
+    private static final IntervalSet EMPTY = new IntervalSet(new Entry[0], 0);
+
+    private final Entry[] byStart;
+    private final long maxLength; // never shrinks, which only widens the scan window
+
+    private IntervalSet(Entry[] byStart, long maxLength) {
+      this.byStart = byStart;
+      this.maxLength = maxLength;
+    }
+
+    private IntervalSet with(Entry entry) {
+      int at = firstAfter(entry.start);
+      Entry[] next = new Entry[byStart.length + 1];
+      System.arraycopy(byStart, 0, next, 0, at);
+      next[at] = entry;
+      System.arraycopy(byStart, at, next, at + 1, byStart.length - at);
+      return new IntervalSet(next, Math.max(maxLength, entry.end - entry.start));
+    }
+
+    private IntervalSet without(Reservations item, long start) {
+      int from = firstAfter(start - 1);
+      int to = firstAfter(start);
+      int matches = 0;
+      for (int i = from; i < to; i++) {
+        if (byStart[i].item == item) {
+          matches++;
+        }
+      }
+      if (matches == 0) {
+        return this;
+      }
+      Entry[] next = new Entry[byStart.length - matches];
+      int n = 0;
+      for (int i = 0; i < byStart.length; i++) {
+        if (i < from || i >= to || byStart[i].item != item) {
+          next[n++] = byStart[i];
+        }
+      }
+      return new IntervalSet(next, maxLength);
+    }
+
+    private boolean isEmpty() {
+      return byStart.length == 0;
+    }
+
+    /** Index of the first entry starting after the given minute (binary search) */
+    private int firstAfter(long minute) {
+      int lo = 0;
+      int hi = byStart.length;
+      while (lo < hi) {
+        int mid = (lo + hi) >>> 1;
+        if (byStart[mid].start <= minute) {
+          lo = mid + 1;
+        } else {
+          hi = mid;
+        }
+      }
+      return lo;
+    }
+
+    private boolean anyOverlap(long start, long end, String excludeId, boolean includePending) {
+      for (int i = firstAfter(start - maxLength); i < byStart.length; i++) {
+        Entry e = byStart[i];
+        if (e.start >= end) {
+          break;
+        }
+        if (e.matches(start, end, excludeId, includePending)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private void collect(
+        long start,
+        long end,
+        String excludeId,
+        Set<Reservations> seen,
+        ArrayList<Reservations> out) {
+      for (int i = firstAfter(start - maxLength); i < byStart.length; i++) {
+        Entry e = byStart[i];
+        if (e.start >= end) {
+          break;
+        }
+        if (e.matches(start, end, excludeId, true) && seen.add(e.item)) {
+          out.add(e.item);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.project.golf.database;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * FileWatcher.java
+ *
+ * <p>Detects changes another process makes to one data file, used by Database to notice when
+ * UserManager (e.g. in the admin GUI) rewrites users.txt. Database records the file's stamp every
+ * time it reads or writes the file itself, so only outside writes count as changes.
+ *
+ * <p>Data structures: a WatchService registered on the file's directory, plus the last modification
+ * time and size Database saw. Algorithm: A check drains the watch events without blocking; with no
+ * event for the file it answers immediately without touching the disk. Only after an event (or on
+ * every check if the platform has no WatchService) is the file's stamp compared with the recorded
+ * one, which filters out the events caused by Database's own writes.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+final class FileWatcher {
+
+  private final File file; // the watched file
+  private final WatchService watcher; // null if the platform cannot watch the directory
+  private boolean eventSeen = true; // an event arrived since the last stamp comparison
+  private long seenModified = -1; // stamp of the version Database last read or wrote
+  private long seenLength = -1;
+
+  /**
+   * Constructor for FileWatcher
+   *
+   * @param path the file to watch
+   */
+  FileWatcher(String path) {
+    this.file = new File(path).getAbsoluteFile();
+    WatchService service = null;
+    try {
+      service = FileSystems.getDefault().newWatchService();
+      file.getParentFile()
+          .toPath()
+          .register(
+              service,
+              StandardWatchEventKinds.ENTRY_CREATE,
+              StandardWatchEventKinds.ENTRY_MODIFY,
+              StandardWatchEventKinds.ENTRY_DELETE);
+    } catch (IOException | UnsupportedOperationException e) {
+      closeQuietly(service);
+      service = null; // fall back to comparing stamps on every check
+    }
+    this.watcher = service;
+  }
+
+  /** Records the file as it is now as Database's own version */
+  synchronized void recordStamp() {
+    seenModified = file.lastModified();
+    seenLength = file.length();
+  }
+
+  /**
+   * Cheap pre-check that never touches the file unless a watch event arrived
+   *
+   * @return false if the file certainly has not changed since the last comparison
+   */
+  synchronized boolean mayHaveChanged() {
+    drainEvents();
+    return eventSeen;
+  }
+
+  /**
+   * Checks whether someone else changed the file since the last recordStamp Callers must keep
+   * Database from writing the file during the check, or its own write may look external
+   *
+   * @return true if the file's stamp differs from the recorded one
+   */
+  synchronized boolean changedExternally() {
+    if (!mayHaveChanged()) {
+      return false;
+    }
+    eventSeen = watcher == null; // without events, every check has to look at the file
+    return file.lastModified() != seenModified || file.length() != seenLength;
+  }
+
+  /** Stops watching the directory */
+  synchronized void close() {
+    closeQuietly(watcher);
+  }
+
+  /** Consumes pending watch events, noting any that concern the file */
+  private void drainEvents() {
+    if (watcher == null) {
+      return;
+    }
+    try {
+      WatchKey key;
+      while ((key = watcher.poll()) != null) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.kind() == StandardWatchEventKinds.OVERFLOW
+              || file.getName().equals(String.valueOf(event.context()))) {
+            eventSeen = true;
+          }
+        }
+        key.reset();
+      }
+    } catch (ClosedWatchServiceException e) {
+      eventSeen = true; // closed, so only the stamps can tell
+    }
+  }
+
+  private static void closeQuietly(WatchService service) {
+    if (service != null) {
+      try {
+        service.close();
+      } catch (IOException e) {
+        // Nothing left to release
+      }
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.project.golf.database;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * GroupCommitter.java
+ *
+ * <p>Write-behind persistence stage used by Database. Callers of commit() block until their changes
+ * are on disk, but the disk work itself is done by a single background writer thread that
+ * coalesces every request arriving within one interval into a single flush and fsync.
+ *
+ * <p>Data structures: one open Batch that new requests join, guarded by this object's monitor.
+ * Algorithm: The first request of a batch wakes the writer, which waits one commit interval so
+ * concurrent requests can join, closes the batch, runs the flush outside the monitor and then
+ * wakes every waiter of that batch with the result. Requests arriving during a flush join the
+ * next batch, so under load the number of disk flushes tracks batches, not requests.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+final class GroupCommitter {
+
+  /** Disk work performed once per batch */
+  interface Flush {
+    void run() throws IOException;
+  }
+
+  private final Flush flush; // writes and fsyncs everything changed so far
+  private final long intervalMillis; // how long a batch stays open for more requests
+  private Batch open; // batch new requests join, null when nothing is waiting
+  private Thread writer; // background writer, started on first commit
+  private boolean stopped = false;
+
+  /**
+   * Constructor for GroupCommitter
+   *
+   * @param flush disk work to run once per batch
+   * @param intervalMillis how long to gather requests before flushing
+   */
+  GroupCommitter(Flush flush, long intervalMillis) {
+    this.flush = flush;
+    this.intervalMillis = intervalMillis;
+  }
+
+  /**
+   * Requests a flush and waits until a flush that started after this call has completed
+   *
+   * @throws IOException if that flush failed or the wait was interrupted
+   */
+  void commit() throws IOException {
+    Batch batch;
+    synchronized (this) {
+      if (stopped) {
+        batch = null;
+      } else {
+        if (writer == null) {
+          writer = new Thread(this::runWriter, "Database-GroupCommit");
+          writer.setDaemon(true);
+          writer.start();
+        }
+        if (open == null) {
+          open = new Batch();
+          notifyAll(); // wake the writer
+        }
+        batch = open;
+        try {
+          while (!batch.done) {
+            wait();
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while waiting for database save");
+        }
+      }
+    }
+    if (batch == null) {
+      flush.run(); // writer already shut down, so save on the calling thread
+    } else if (batch.error != null) {
+      throw new IOException("Database save failed: " + batch.error.getMessage(), batch.error);
+    }
+  }
+
+  /** Stops the writer once the open batch, if any, has been flushed */
+  void shutdown() {
+    Thread toJoin;
+    synchronized (this) {
+      stopped = true;
+      notifyAll();
+      toJoin = writer;
+    }
+    if (toJoin != null && toJoin != Thread.currentThread()) {
+      try {
+        toJoin.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /** Writer loop: gather a batch, flush it, release its waiters */
+  private void runWriter() {
+    while (true) {
+      Batch batch;
+      synchronized (this) {
+        while (open == null && !stopped) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            stopped = true;
+          }
+        }
+        if (open == null) {
+          return; // stopped with nothing left to flush
+        }
+      }
+
+      if (intervalMillis > 0) {
+        try {
+          Thread.sleep(intervalMillis); // let concurrent requests join this batch
+        } catch (InterruptedException e) {
+          synchronized (this) {
+            stopped = true;
+          }
+        }
+      }
+
+      synchronized (this) {
+        batch = open;
+        open = null;
+      }
+      try {
+        flush.run();
+      } catch (IOException | RuntimeException e) {
+        batch.error = e instanceof IOException ? (IOException) e : new IOException(e);
+      }
+      synchronized (this) {
+        batch.done = true;
+        notifyAll();
+      }
+    }
+  }
+
+  /** Requests that share one flush */
+  private static final class Batch {
+    private boolean done = false;
+    private IOException error;
+  }
+}
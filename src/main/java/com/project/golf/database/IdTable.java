@@ -0,0 +1,177 @@
+package com.project.golf.database;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * IdTable.java
+ *
+ * <p>Insertion-ordered table of records keyed by ID, used by Database for reservations, events and
+ * tee times. Writers on different lock stripes share one table, so every change is synchronized
+ * and kept short; the stripe locks provide the per-date atomicity, this only keeps the table itself
+ * consistent. Lookups never take the table's lock.
+ *
+ * <p>Data structures: LinkedHashMap from ID to record for insertion order, a ConcurrentHashMap
+ * mirror of it for lookups, and an immutable List of its values published through a volatile field.
+ * Algorithm: O(1) insert and removal by ID under the table's monitor, O(1) lock-free lookup through
+ * the mirror. Every change drops the published list; the next scan copies the map once and
+ * publishes the copy, and every scan until the following change shares it without locking, so long
+ * reports never hold up writers and repeated reads allocate nothing.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+final class IdTable<V> {
+
+  private final LinkedHashMap<String, V> byId = new LinkedHashMap<>();
+  private final ConcurrentHashMap<String, V> lookup = new ConcurrentHashMap<>(); // same entries
+  private volatile List<V> published; // immutable copy of byId's values, null once stale
+
+  /**
+   * Adds a record unless its ID is taken
+   *
+   * @param id record ID
+   * @param value the record
+   * @return true if added, false if the ID was already present
+   */
+  synchronized boolean putIfAbsent(String id, V value) {
+    if (byId.putIfAbsent(id, value) != null) {
+      return false;
+    }
+    lookup.put(id, value);
+    published = null;
+    return true;
+  }
+
+  /**
+   * Looks up a record
+   *
+   * @param id record ID
+   * @return the record, or null if absent
+   */
+  V get(String id) {
+    return lookup.get(id);
+  }
+
+  /**
+   * Checks whether an ID is present
+   *
+   * @param id record ID
+   * @return true if a record has this ID
+   */
+  boolean containsKey(String id) {
+    return lookup.containsKey(id);
+  }
+
+  /**
+   * Removes a record only if it is still the given instance
+   *
+   * @param id record ID
+   * @param value the record expected under that ID
+   * @return true if it was removed
+   */
+  synchronized boolean remove(String id, V value) {
+    if (!byId.remove(id, value)) {
+      return false;
+    }
+    lookup.remove(id, value);
+    published = null;
+    return true;
+  }
+
+  /**
+   * Swaps the record filed under an ID for another, without the ID ever being free
+   *
+   * @param id record ID
+   * @param expected the record currently under that ID
+   * @param value the record to file in its place
+   * @return true if expected was there and has been replaced
+   */
+  synchronized boolean replace(String id, V expected, V value) {
+    if (!byId.replace(id, expected, value)) {
+      return false;
+    }
+    lookup.put(id, value);
+    published = null;
+    return true;
+  }
+
+  /** Removes every record */
+  synchronized void clear() {
+    byId.clear();
+    lookup.clear();
+    published = null;
+  }
+
+  /**
+   * Gets the current contents as an immutable list, shared by every caller until the next change
+   * Lock free unless the table changed since the last call
+   *
+   * @return every record in insertion order
+   */
+  List<V> snapshot() {
+    List<V> current = published;
+    if (current != null) {
+      return current;
+    }
+    synchronized (this) {
+      if (published == null) {
+        published = List.copyOf(byId.values());
+      }
+      return published;
+    }
+  }
+
+  /**
+   * Copies out every record in insertion order
+   *
+   * @return a new list of all records
+   */
+  ArrayList<V> values() {
+    return new ArrayList<>(snapshot());
+  }
+
+  /**
+   * Copies out the records matching a filter, in insertion order
+   *
+   * @param filter test applied to each record
+   * @return a new list of the matching records
+   */
+  ArrayList<V> filter(Predicate<? super V> filter) {
+    ArrayList<V> result = new ArrayList<>();
+    for (V v : snapshot()) {
+      if (filter.test(v)) {
+        result.add(v);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the first record matching a filter, in insertion order
+   *
+   * @param filter test applied to each record
+   * @return the first match, or null
+   */
+  V find(Predicate<? super V> filter) {
+    for (V v : snapshot()) {
+      if (filter.test(v)) {
+        return v;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Visits every record in insertion order without copying
+   *
+   * @param action applied to each record of the current snapshot
+   */
+  void forEach(Consumer<? super V> action) {
+    snapshot().forEach(action);
+  }
+}
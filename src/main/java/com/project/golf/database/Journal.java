@@ -0,0 +1,176 @@
+package com.project.golf.database;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+
+/**
+ * Journal.java
+ *
+ * <p>Append-only write-ahead log used by Database in journal mode. Each mutation is recorded as one
+ * text line ("OP|payload"), and saving appends only the lines recorded since the last save instead
+ * of rewriting every data file. On startup the records are replayed on top of the last snapshot.
+ *
+ * <p>Data structures: ArrayList of records waiting to be written, guarded by the Journal's own
+ * monitor, and a Writer kept open in append mode, guarded by a separate I/O lock. Algorithm: Records
+ * are buffered in mutation order and appended on flush, so the cost of a save depends on the number
+ * of new records, not on the size of the database. A flush takes the I/O lock, then takes the
+ * pending records under the monitor and writes and fsyncs them with only the I/O lock held, so
+ * mutations keep appending during the fsync while flushes still reach the file in record order;
+ * a flush that finds nothing pending has still waited for the flush before it to be durable. A final line with
+ * no newline (torn by a crash mid-append) is ignored on read. Compaction rotates the written
+ * records into a sealed segment that is deleted once a snapshot covering them is on disk.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+final class Journal {
+
+  private final File file; // journal file on disk
+  private final ArrayList<String> pending = new ArrayList<>(); // recorded but not yet written
+  private final Object io = new Object(); // held while writing; always taken before the monitor
+  private FileOutputStream out; // append-mode stream, opened on first flush
+  private Writer writer; // buffered writer over out
+
+  /**
+   * Constructor for Journal
+   *
+   * @param path path of the journal file
+   */
+  Journal(String path) {
+    this.file = new File(path);
+  }
+
+  /**
+   * Records a mutation to be written on the next flush
+   *
+   * @param record one journal line, without the trailing newline
+   */
+  synchronized void append(String record) {
+    pending.add(record);
+  }
+
+  /**
+   * Appends all pending records to the journal file and forces them to disk Returns once every
+   * record appended before the call is durable, whichever flush wrote it. If the write fails the
+   * records are put back in front of any newer ones for the next flush.
+   *
+   * @throws IOException if the records cannot be written
+   */
+  void flush() throws IOException {
+    synchronized (io) {
+      ArrayList<String> batch;
+      synchronized (this) {
+        if (pending.isEmpty()) {
+          return;
+        }
+        batch = new ArrayList<>(pending);
+        pending.clear();
+      }
+      try {
+        if (writer == null) {
+          out = new FileOutputStream(file, true);
+          writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+        for (String record : batch) {
+          writer.write(record);
+          writer.write('\n');
+        }
+        writer.flush();
+        out.getFD().sync();
+      } catch (IOException e) {
+        synchronized (this) {
+          pending.addAll(0, batch);
+        }
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Seals the records written so far into a separate segment so a compaction can drop them once
+   * its snapshot is durable, while new records keep going to a fresh journal file Pending records
+   * are flushed into the sealed segment first. If a segment from an unfinished compaction is still
+   * there, the records are appended to it so nothing is dropped twice or out of order.
+   *
+   * @param segmentPath where the sealed records go
+   * @throws IOException if the records cannot be flushed or moved
+   */
+  void rotate(String segmentPath) throws IOException {
+    synchronized (io) {
+      flush();
+      close();
+      if (!file.exists()) {
+        return;
+      }
+      File segment = new File(segmentPath);
+      if (!segment.exists()) {
+        Files.move(file.toPath(), segment.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        return;
+      }
+      try (FileOutputStream append = new FileOutputStream(segment, true)) {
+        append.write(Files.readAllBytes(file.toPath()));
+        append.getFD().sync();
+      }
+      Files.delete(file.toPath());
+    }
+  }
+
+  /**
+   * Size of the journal file, used to decide when compaction is worthwhile
+   *
+   * @return bytes written to the current journal file
+   */
+  long length() {
+    synchronized (io) {
+      return file.length();
+    }
+  }
+
+  /** Drops records that were never flushed (e.g. when in-memory state is being reloaded) */
+  synchronized void discardPending() {
+    pending.clear();
+  }
+
+  /**
+   * Closes the underlying writer; the next flush reopens it
+   *
+   * @throws IOException if the writer cannot be closed
+   */
+  void close() throws IOException {
+    synchronized (io) {
+      if (writer != null) {
+        writer.close();
+        writer = null;
+        out = null;
+      }
+    }
+  }
+
+  /**
+   * Reads every complete record from a journal file
+   *
+   * @param path path of the journal file
+   * @return records in the order they were written, empty if the file does not exist
+   * @throws IOException if the file exists but cannot be read
+   */
+  static ArrayList<String> readRecords(String path) throws IOException {
+    ArrayList<String> records = new ArrayList<>();
+    File f = new File(path);
+    if (!f.exists()) {
+      return records;
+    }
+    String content = new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8);
+    int start = 0;
+    int newline;
+    while ((newline = content.indexOf('\n', start)) >= 0) {
+      if (newline > start) {
+        records.add(content.substring(start, newline));
+      }
+      start = newline + 1;
+    }
+    return records;
+  }
+}
@@ -0,0 +1,254 @@
+package com.project.golf.database;
+
+import com.project.golf.reservation.Reservations;
+import com.project.golf.utils.RecordReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.ref.SoftReference;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * ReservationArchive.java
+ *
+ * <p>Per-month partition files for reservations that are over, used by Database to keep only the
+ * current booking window in memory and in reservations.txt. A month is read from disk only when a
+ * report or a user's history asks for it.
+ *
+ * <p>Data structures: one GZIP-compressed text file per month in the archive directory, named
+ * reservations-YYYY-MM.txt.gz and holding reservations.txt lines, plus a ConcurrentHashMap from
+ * month to a SoftReference of its parsed, immutable contents, a sorted set of the months on disk so
+ * asking whether a date is archived never touches the disk, and an index from username to the
+ * months holding that user's reservations. Algorithm: archiving merges the new records into the
+ * month's file by ID and rewrites it atomically; a read decompresses and parses the file once and
+ * keeps the result only as long as the garbage collector can spare the memory, so archived history
+ * never stays resident under memory pressure. The user index is built by reading every month once,
+ * the first time a user's history is asked for, and kept up to date by each append after that, so
+ * a history request only reads the months that user appears in. Uncompressed
+ * reservations-YYYY-MM.txt files from before compression are still read, and are folded into the
+ * compressed file the next time their month is archived to.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+final class ReservationArchive {
+
+  private static final String PREFIX = "reservations-";
+  private static final String SUFFIX = ".txt.gz";
+  private static final String PLAIN_SUFFIX = ".txt"; // written before compression
+
+  private final File dir; // holds one file per archived month
+  private final ConcurrentSkipListSet<String> months = new ConcurrentSkipListSet<>(); // on disk
+  private final ConcurrentHashMap<String, SoftReference<List<Reservations>>> loaded =
+      new ConcurrentHashMap<>(); // months read since they were last written
+  private final ConcurrentHashMap<String, Set<String>> monthsByUser =
+      new ConcurrentHashMap<>(); // username -> months with that user's reservations
+  private final Set<String> unindexed = ConcurrentHashMap.newKeySet(); // unreadable when indexed
+  private volatile boolean indexed = false; // monthsByUser covers every month
+
+  /**
+   * Constructor for ReservationArchive
+   *
+   * @param dir directory holding the month files, created on first write
+   */
+  ReservationArchive(String dir) {
+    this.dir = new File(dir);
+    String[] names = this.dir.list();
+    if (names != null) {
+      for (String name : names) {
+        if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+          months.add(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } else if (name.startsWith(PREFIX) && name.endsWith(PLAIN_SUFFIX)) {
+          months.add(name.substring(PREFIX.length(), name.length() - PLAIN_SUFFIX.length()));
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the partition a date belongs to
+   *
+   * @param date date in YYYY-MM-DD format
+   * @return the month as YYYY-MM
+   */
+  static String monthOf(String date) {
+    return date.substring(0, 7);
+  }
+
+  /**
+   * Checks whether a month has been archived, without reading it
+   *
+   * @param month month as YYYY-MM
+   * @return true if the month has a partition file
+   */
+  boolean hasMonth(String month) {
+    return months.contains(month);
+  }
+
+  /**
+   * Lists the archived months
+   *
+   * @return every month with a partition file, oldest first
+   */
+  List<String> months() {
+    return List.copyOf(months);
+  }
+
+  /**
+   * Lists the archived months that may hold a user's reservations, building the user index on the
+   * first call
+   *
+   * @param username the user
+   * @return months as YYYY-MM, oldest first; months that could not be read to build the index are
+   *     always included
+   */
+  List<String> monthsOf(String username) {
+    if (!indexed) {
+      buildIndex();
+    }
+    ConcurrentSkipListSet<String> result = new ConcurrentSkipListSet<>(unindexed);
+    result.addAll(monthsByUser.getOrDefault(username, Set.of()));
+    return List.copyOf(result);
+  }
+
+  /** Reads every archived month once to record which users appear in it */
+  private synchronized void buildIndex() {
+    if (indexed) {
+      return;
+    }
+    for (String month : months) {
+      try {
+        for (Reservations r : read(month)) {
+          addToIndex(r.getUsername(), month);
+        }
+      } catch (IOException e) {
+        System.err.println("Error indexing archived month " + month + ": " + e.getMessage());
+        unindexed.add(month); // scanned on every history request instead
+      }
+    }
+    indexed = true;
+  }
+
+  private void addToIndex(String username, String month) {
+    monthsByUser.computeIfAbsent(username, u -> ConcurrentHashMap.newKeySet()).add(month);
+  }
+
+  /**
+   * Gets a month's archived reservations, reading its file unless a recent read is still cached
+   *
+   * @param month month as YYYY-MM
+   * @return immutable list in file order, empty if the month was never archived
+   * @throws IOException if the partition file cannot be read
+   */
+  List<Reservations> read(String month) throws IOException {
+    if (!months.contains(month)) {
+      return List.of();
+    }
+    SoftReference<List<Reservations>> ref = loaded.get(month);
+    List<Reservations> cached = ref == null ? null : ref.get();
+    if (cached != null) {
+      return cached;
+    }
+    synchronized (this) {
+      List<Reservations> contents = List.copyOf(readFile(month).values());
+      loaded.put(month, new SoftReference<>(contents));
+      return contents;
+    }
+  }
+
+  /**
+   * Adds reservations to a month's partition A reservation already archived under the same ID is
+   * replaced, so archiving the same records twice after a crash leaves one copy
+   *
+   * @param month month as YYYY-MM
+   * @param moved reservations dated in that month
+   * @throws IOException if the partition file cannot be read or rewritten
+   */
+  synchronized void append(String month, Collection<Reservations> moved) throws IOException {
+    LinkedHashMap<String, Reservations> merged = readFile(month);
+    for (Reservations r : moved) {
+      merged.put(r.getReservationId(), r);
+    }
+    dir.mkdirs();
+    loaded.remove(month);
+    Database.writeCompressedAtomically(
+        fileFor(month).getPath(),
+        pw -> merged.values().forEach(r -> pw.println(r.toFileString())));
+    plainFileFor(month).delete(); // its records are in the compressed file now
+    months.add(month);
+    if (indexed) {
+      for (Reservations r : moved) {
+        addToIndex(r.getUsername(), month);
+      }
+    }
+  }
+
+  /**
+   * Forgets every month in memory, leaving the partition files on disk A later append to a month
+   * still merges with its file
+   */
+  synchronized void forget() {
+    months.clear();
+    loaded.clear();
+    monthsByUser.clear();
+    unindexed.clear();
+    indexed = false;
+  }
+
+  /** Deletes every partition file in the archive directory, then forgets them */
+  synchronized void deleteFiles() {
+    String[] names = dir.list();
+    if (names != null) {
+      for (String name : names) {
+        if (name.startsWith(PREFIX) && name.endsWith(PLAIN_SUFFIX)
+            || name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+          new File(dir, name).delete();
+        }
+      }
+    }
+    dir.delete(); // only succeeds once empty
+    forget();
+  }
+
+  private LinkedHashMap<String, Reservations> readFile(String month) throws IOException {
+    LinkedHashMap<String, Reservations> records = new LinkedHashMap<>();
+    // The compressed file wins; a plain one left beside it by a crash only adds what it lacks
+    File file = fileFor(month);
+    if (file.exists()) {
+      FileInputStream raw = new FileInputStream(file);
+      Reader in;
+      try {
+        in = new InputStreamReader(new GZIPInputStream(raw));
+      } catch (IOException e) {
+        raw.close(); // not a GZIP file
+        throw e;
+      }
+      RecordReader.forEach(
+          file.getName(),
+          in,
+          Reservations::fromRecord,
+          r -> records.putIfAbsent(r.getReservationId(), r));
+    }
+    RecordReader.forEach(
+        plainFileFor(month),
+        Reservations::fromRecord,
+        r -> records.putIfAbsent(r.getReservationId(), r));
+    return records;
+  }
+
+  private File fileFor(String month) {
+    return new File(dir, PREFIX + month + SUFFIX);
+  }
+
+  private File plainFileFor(String month) {
+    return new File(dir, PREFIX + month + PLAIN_SUFFIX);
+  }
+}
@@ -0,0 +1,39 @@
+package com.project.golf.database;
+
+/**
+ * ReserveResult.java
+ *
+ * <p>Outcome of Database.reserve. Every check a booking must pass is made in the same critical
+ * section that stores the booking, so the outcome says exactly which rule rejected it, and a client
+ * that loses a race for a slot always gets CONFLICT or FULL rather than a late failure.
+ *
+ * <p>Data structures: one constant per outcome, each with the message the server sends back.
+ * Algorithm: Database.reserve checks the rules in declaration order after INVALID and returns the
+ * first one that fails.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+public enum ReserveResult {
+  RESERVED("Reserved"),
+  INVALID("Reservation has no valid date, time, tee box or party size"),
+  DUPLICATE_ID("Reservation ID is already in use"),
+  NOT_FOUND("Reservation being edited no longer exists"),
+  CONFLICT("This time slot conflicts with an existing reservation or event"),
+  FULL("Not enough spots available");
+
+  private final String message; // text for RESP|ERROR responses
+
+  ReserveResult(String message) {
+    this.message = message;
+  }
+
+  /**
+   * Gets the message shown to the client for this outcome
+   *
+   * @return human-readable description
+   */
+  public String getMessage() {
+    return message;
+  }
+}
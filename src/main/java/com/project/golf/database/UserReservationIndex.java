@@ -0,0 +1,131 @@
+package com.project.golf.database;
+
+import com.project.golf.reservation.Reservations;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * UserReservationIndex.java
+ *
+ * <p>Secondary index of reservations by username, used by Database so a user's bookings can be
+ * listed without scanning every reservation. Kept in step with the reservations table under the
+ * same stripe locks; reads take no lock.
+ *
+ * <p>Data structures: ConcurrentHashMap from username to a ConcurrentSkipListMap of that user's
+ * reservations keyed by (start minute, reservation ID). Algorithm: O(log n) insert and removal
+ * within one user's map; listing is a walk of that map in start order, and the split between past
+ * and upcoming bookings is an O(log n) head or tail view at the current minute. Each user's map is
+ * changed only inside the outer map's compute, so a map is never dropped as empty while another
+ * writer is adding to it.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+final class UserReservationIndex {
+
+  private final ConcurrentHashMap<String, ConcurrentSkipListMap<Key, Reservations>> byUser =
+      new ConcurrentHashMap<>();
+
+  /** Orders one user's reservations by start time, then ID so equal starts stay distinct */
+  private static final class Key implements Comparable<Key> {
+    private final long start; // epoch minute
+    private final String id;
+
+    private Key(long start, String id) {
+      this.start = start;
+      this.id = id;
+    }
+
+    @Override
+    public int compareTo(Key other) {
+      int c = Long.compare(start, other.start);
+      return c != 0 ? c : id.compareTo(other.id);
+    }
+  }
+
+  /**
+   * Adds a reservation under its username
+   *
+   * @param r the reservation
+   */
+  void add(Reservations r) {
+    if (r.getUsername() == null) {
+      return;
+    }
+    Key key = new Key(r.getStartMinute(), r.getReservationId());
+    byUser.compute(
+        r.getUsername(),
+        (user, map) -> {
+          if (map == null) {
+            map = new ConcurrentSkipListMap<>();
+          }
+          map.put(key, r);
+          return map;
+        });
+  }
+
+  /**
+   * Removes a reservation if it is still the indexed instance
+   *
+   * @param r the reservation
+   */
+  void remove(Reservations r) {
+    if (r.getUsername() == null) {
+      return;
+    }
+    Key key = new Key(r.getStartMinute(), r.getReservationId());
+    byUser.computeIfPresent(
+        r.getUsername(),
+        (user, map) -> {
+          map.remove(key, r);
+          return map.isEmpty() ? null : map;
+        });
+  }
+
+  /** Removes every entry */
+  void clear() {
+    byUser.clear();
+  }
+
+  /**
+   * Lists all of a user's reservations
+   *
+   * @param username the user
+   * @return a new list in start order
+   */
+  ArrayList<Reservations> all(String username) {
+    ConcurrentSkipListMap<Key, Reservations> map = byUser.get(username);
+    return map == null ? new ArrayList<>() : new ArrayList<>(map.values());
+  }
+
+  /**
+   * Lists a user's reservations starting at or after a minute
+   *
+   * @param username the user
+   * @param minute epoch minute
+   * @return a new list in start order
+   */
+  ArrayList<Reservations> from(String username, long minute) {
+    ConcurrentSkipListMap<Key, Reservations> map = byUser.get(username);
+    if (map == null) {
+      return new ArrayList<>();
+    }
+    return new ArrayList<>(map.tailMap(new Key(minute, ""), true).values());
+  }
+
+  /**
+   * Lists a user's reservations starting before a minute
+   *
+   * @param username the user
+   * @param minute epoch minute
+   * @return a new list in start order
+   */
+  ArrayList<Reservations> before(String username, long minute) {
+    ConcurrentSkipListMap<Key, Reservations> map = byUser.get(username);
+    if (map == null) {
+      return new ArrayList<>();
+    }
+    return new ArrayList<>(map.headMap(new Key(minute, ""), false).values());
+  }
+}
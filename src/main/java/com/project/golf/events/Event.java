@@ -1,6 +1,7 @@
 package com.project.golf.events;
 
 import com.project.golf.reservation.*;
+import com.project.golf.utils.TimeUtil;
 
 /**
  * Event.java
@@ -8,8 +9,9 @@ import com.project.golf.reservation.*;
  * <p>Represents a multi-day or timed event reservation extending the Reservations class. Adds end
  * date and end time fields to capture event duration beyond single tee times.
  *
- * <p>Data structures: Extends Reservations base class, adds String endDate and endTime fields,
- * maintains parent reservation data (id, username, date, time, partySize, teeBox, price).
+ * <p>Data structures: Extends Reservations base class, adds String endDate and endTime fields plus
+ * a long endMinute key parsed once at construction, maintains parent reservation data (id,
+ * username, date, time, partySize, teeBox, price).
  * Algorithm: Extends composition pattern from Reservations, validates end date/time format
  * consistency with parent class during construction. Features: Event duration tracking, file
  * serialization compatibility, comparison operations, string representation for UI display.
@@ -21,6 +23,7 @@ public class Event extends Reservations implements EventInterface {
 
   private String endDate; // end date of the event in format matching system date standard
   private String endTime; // end time of the event in format matching system time standard
+  private final long endMinute; // endDate + endTime as minutes since 1970-01-01, parsed once
 
   public Event(
       String reservationId,
@@ -37,6 +40,7 @@ public class Event extends Reservations implements EventInterface {
 
     this.endDate = endDate;
     this.endTime = endTime;
+    this.endMinute = TimeUtil.toEpochMinutes(endDate, endTime);
   }
 
   /**
@@ -57,6 +61,16 @@ public class Event extends Reservations implements EventInterface {
     return endTime;
   }
 
+  /**
+   * Gets the end as an exact epoch minute, computed once from end date and end time
+   *
+   * @return minutes since 1970-01-01 00:00, or TimeUtil.UNPARSEABLE if malformed
+   */
+  @Override
+  public long getEndMinute() {
+    return endMinute;
+  }
+
   /**
    * Indicates if this reservation is an event
    *
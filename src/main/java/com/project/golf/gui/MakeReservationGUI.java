@@ -4,6 +4,7 @@ import com.project.golf.client.Client;
 import com.project.golf.events.Event;
 import com.project.golf.reservation.Reservations;
 import com.project.golf.utils.EmailSender;
+import com.project.golf.utils.IdGenerator;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
@@ -617,6 +618,37 @@ public class MakeReservationGUI extends JFrame implements ActionListener {
     }
   }
 
+  /**
+   * Asks the server for the next open tee times on a date, so the user can pick one instead of
+   * guessing again
+   *
+   * @param date the date in YYYY-MM-DD format
+   * @param time the requested time; suggestions start from it
+   * @return lines listing up to three open times and holes, or "" if none or offline
+   */
+  private String suggestOpenTimes(String date, String time) {
+    if (client == null) {
+      return "";
+    }
+    try {
+      int partySize = Integer.parseInt((String) partySizeCombo.getSelectedItem());
+      String response = client.findOpenTeeTimes(date, date, partySize, 3, time, null, null);
+      if (response == null || !response.startsWith("RESP|OK|") || response.length() == 8) {
+        return "";
+      }
+      StringBuilder sb = new StringBuilder("\n\nNext open times:");
+      for (String slot : response.substring(8).split("\\|")) {
+        String[] fields = slot.split(";"); // id;date;time;spots;max;price;teeBox
+        if (fields.length >= 7) {
+          sb.append("\n  ").append(fields[2]).append(" on ").append(fields[6]);
+        }
+      }
+      return sb.toString();
+    } catch (IOException | NumberFormatException e) {
+      return "";
+    }
+  }
+
   private void saveReservation() {
     try {
       String date = dateField.getText();
@@ -643,16 +675,14 @@ public class MakeReservationGUI extends JFrame implements ActionListener {
           JOptionPane.showMessageDialog(
               this,
               "This time slot conflicts with an existing reservation or event.\n"
-                  + "Please select a different time or hole.",
+                  + "Please select a different time or hole."
+                  + suggestOpenTimes(formattedDate, time),
               "Time Slot Unavailable",
               JOptionPane.WARNING_MESSAGE);
           return;
         }
       }
 
-      // Use timestamp-based reservation ID
-      String reservationId = "R" + System.currentTimeMillis();
-
       // If marked as event, create Event object (always 200 people, all holes)
       if (isEvent) {
         DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("h:mm a");
@@ -710,10 +740,11 @@ public class MakeReservationGUI extends JFrame implements ActionListener {
                 this, "Connection error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
           }
         } else {
-          // Local mode - direct database access
+          // Local mode - direct database access, whose loaded IDs IdGenerator has observed
+          String eventId = IdGenerator.nextEventId();
           Event event =
               new Event(
-                  reservationId,
+                  eventId,
                   username,
                   formattedDate,
                   selectedTime,
@@ -742,7 +773,7 @@ public class MakeReservationGUI extends JFrame implements ActionListener {
                         + "Party Size: 200%s\n"
                         + "Duration: %d hours\n\n"
                         + "You will be notified once the admin approves your event.",
-                    reservationId, date, time, endTimeStr, cartInfo, hours),
+                    eventId, date, time, endTimeStr, cartInfo, hours),
                 "Event Request Pending",
                 JOptionPane.INFORMATION_MESSAGE);
 
@@ -774,7 +805,7 @@ public class MakeReservationGUI extends JFrame implements ActionListener {
 
             // Extract reservation ID from server response
             String[] responseParts = response.split("\\|");
-            String serverResId = reservationId; // default
+            String serverResId = "assigned by server"; // the server always picks the ID
             if (responseParts.length > 2) {
               String[] resFields = responseParts[2].split(",");
               if (resFields.length > 0) {
@@ -860,7 +891,8 @@ public class MakeReservationGUI extends JFrame implements ActionListener {
               this, "Connection error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
       } else {
-        // Local mode - direct database access
+        // Local mode - direct database access, whose loaded IDs IdGenerator has observed
+        String reservationId = IdGenerator.nextReservationId();
         Reservations reservation =
             new Reservations(
                 reservationId, username, formattedDate, time, partySize, teeBox, 0.0, false);
@@ -1,6 +1,9 @@
 package com.project.golf.gui;
 
+import com.project.golf.server.NioServer;
 import com.project.golf.server.Server;
+import com.project.golf.server.ServerInterface;
+import com.project.golf.utils.ServerConfig;
 
 /**
  * ServerController.java
@@ -8,17 +11,17 @@ import com.project.golf.server.Server;
  * <p>Server lifecycle management controller for GUI-based administration. Manages start/stop
  * operations without blocking GUI thread.
  *
- * <p>Data structures: Server instance, Thread for server execution, volatile boolean flag for
- * thread-safe running state tracking. Algorithm: Non-blocking server startup in separate thread
- * with optional callback, graceful shutdown, running state monitoring. Features: Async server
- * startup with callbacks, clean shutdown, running state tracking, exception handling and logging,
- * thread-safe status monitoring.
+ * <p>Data structures: Server or NioServer instance (chosen by server.mode), Thread for server
+ * execution, volatile boolean flag for thread-safe running state tracking. Algorithm: Non-blocking
+ * server startup in separate thread with optional callback, graceful shutdown, running state
+ * monitoring. Features: Async server startup with callbacks, clean shutdown, running state
+ * tracking, exception handling and logging, thread-safe status monitoring.
  *
  * @author Ethan Billau (ebillau), L15
  * @version December 7, 2025
  */
 public class ServerController implements ServerControllerInterface {
-  private Server server; // golf reservation server instance
+  private ServerInterface server; // golf reservation server instance
   private Thread serverThread; // thread running the server
   private volatile boolean running = false; // thread-safe flag for running state
 
@@ -43,7 +46,10 @@ public class ServerController implements ServerControllerInterface {
             () -> {
               try {
                 System.out.println("Starting server on port " + port + "...");
-                server = new Server(port);
+                server =
+                    "nio".equals(ServerConfig.getServerMode())
+                        ? new NioServer(port)
+                        : new Server(port);
                 running = true;
                 if (onStart != null) onStart.run(); // Notify caller that server started
                 server.start(); // Blocking call that runs until server stops
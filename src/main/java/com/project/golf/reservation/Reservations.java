@@ -1,5 +1,8 @@
 package com.project.golf.reservation;
 
+import com.project.golf.utils.RecordReader;
+import com.project.golf.utils.TimeUtil;
+import java.io.IOException;
 import java.util.Objects;
 
 /**
@@ -9,8 +12,9 @@ import java.util.Objects;
  * model class for golf booking system storing all reservation details.
  *
  * <p>Data structures: String fields for ID, username, date, time, teeBox; int partySize, double
- * price for cost calculation; boolean flags isPaid and isPending for state tracking. Algorithm:
- * Direct storage of reservation attributes with getter/setter accessors, equals/hashCode based on
+ * price for cost calculation; boolean flags isPaid and isPending for state tracking; long
+ * startMinute precomputed from date and time. Algorithm: Direct storage of reservation attributes
+ * with getter/setter accessors, date/time parsed once at construction into an exact epoch minute, equals/hashCode based on
  * reservationId, toFileString() serialization for persistence. Features: Reservation creation,
  * payment state tracking, approval status management, file serialization, object comparison.
  *
@@ -27,7 +31,11 @@ public class Reservations implements ReservationsInterface {
   private String teeBox; // which tee box or hole designation
   private double price; // total cost of the reservation
   private boolean isPaid; // true if payment has been received
-  private boolean isPending; // true if awaiting admin approval
+  private volatile boolean isPending; // true if awaiting admin approval, read without db locks
+  private final long startMinute; // date + time as minutes since 1970-01-01, parsed once
+
+  /** How long a regular reservation blocks its tee box, in minutes */
+  public static final int DURATION_MINUTES = 120;
 
   /**
    * Constructor for Reservations (defaults to unpaid)
@@ -52,6 +60,7 @@ public class Reservations implements ReservationsInterface {
     this.username = username;
     this.date = date;
     this.time = time;
+    this.startMinute = TimeUtil.toEpochMinutes(date, time);
     this.partySize = partySize;
     this.teeBox = teeBox;
     this.price = price;
@@ -84,6 +93,7 @@ public class Reservations implements ReservationsInterface {
     this.username = username;
     this.date = date;
     this.time = time;
+    this.startMinute = TimeUtil.toEpochMinutes(date, time);
     this.partySize = partySize;
     this.teeBox = teeBox;
     this.price = price;
@@ -118,6 +128,7 @@ public class Reservations implements ReservationsInterface {
     this.username = username;
     this.date = date;
     this.time = time;
+    this.startMinute = TimeUtil.toEpochMinutes(date, time);
     this.partySize = partySize;
     this.teeBox = teeBox;
     this.price = price;
@@ -165,6 +176,26 @@ public class Reservations implements ReservationsInterface {
     return time;
   }
 
+  /**
+   * Gets the start as an exact epoch minute, computed once from date and time
+   *
+   * @return minutes since 1970-01-01 00:00, or TimeUtil.UNPARSEABLE if date/time is malformed
+   */
+  @Override
+  public long getStartMinute() {
+    return startMinute;
+  }
+
+  /**
+   * Gets the end as an exact epoch minute (regular reservations last DURATION_MINUTES)
+   *
+   * @return minute at which this reservation stops blocking its tee box
+   */
+  @Override
+  public long getEndMinute() {
+    return startMinute + DURATION_MINUTES;
+  }
+
   /**
    * Gets the party size
    *
@@ -293,58 +324,67 @@ public class Reservations implements ReservationsInterface {
    * @return Reservations object or null if invalid
    */
   public static Reservations fromFileString(String fileString) {
-    if (fileString == null || fileString.trim().isEmpty()) {
+    if (fileString == null) {
       return null;
     }
-
     try {
-      String[] parts = fileString.split(",");
-
-      // EVENT FORMAT: EVENT,id,user,date,time,party,tee,price,isPaid,endDate,endTime[,isPending]
-      if (parts[0].equals("EVENT")) {
-        com.project.golf.events.Event event =
-            new com.project.golf.events.Event(
-                parts[1], // reservationId
-                parts[2], // username
-                parts[3], // date
-                parts[4], // time
-                Integer.parseInt(parts[5]), // partySize (ignored)
-                parts[6], // teeBox (ignored)
-                Double.parseDouble(parts[7]), // price
-                parts[9], // endDate
-                parts[10] // endTime
-                );
-        // Only set pending if the flag exists (backward compatible)
-        if (parts.length >= 12) {
-          event.setPending(Boolean.parseBoolean(parts[11]));
-        }
-        return event;
-      }
-
-      // STANDARD RESERVATIONS - support both old (8 parts) and new (9 parts) formats
-      if (parts.length < 8) {
-        return null;
-      }
+      RecordReader record = RecordReader.of(fileString);
+      return record.next() ? fromRecord(record) : null;
+    } catch (IOException | RecordReader.MalformedRecordException e) {
+      return null;
+    }
+  }
 
-      Reservations reservation =
-          new Reservations(
-              parts[0],
-              parts[1],
-              parts[2],
-              parts[3],
-              Integer.parseInt(parts[4]),
-              parts[5],
-              Double.parseDouble(parts[6]),
-              Boolean.parseBoolean(parts[7]));
+  /**
+   * Create Reservations from the current record of a RecordReader, in either the reservation or
+   * the EVENT format, both with an optional trailing isPending flag
+   *
+   * @param record reader positioned on a reservations.txt line
+   * @return the Reservations (an Event for EVENT lines)
+   * @throws RecordReader.MalformedRecordException if the line is missing fields or a number is
+   *     invalid
+   */
+  public static Reservations fromRecord(RecordReader record) {
+    // EVENT FORMAT: EVENT,id,user,date,time,party,tee,price,isPaid,endDate,endTime[,isPending]
+    if (record.fieldEquals(0, "EVENT")) {
+      com.project.golf.events.Event event =
+          new com.project.golf.events.Event(
+              record.text(1), // reservationId
+              record.text(2), // username
+              record.text(3), // date
+              record.text(4), // time
+              record.intField(5), // partySize (ignored)
+              record.text(6), // teeBox (ignored)
+              record.doubleField(7), // price
+              record.text(9), // endDate
+              record.text(10) // endTime
+              );
       // Only set pending if the flag exists (backward compatible)
-      if (parts.length >= 9) {
-        reservation.setPending(Boolean.parseBoolean(parts[8]));
+      if (record.fieldCount() >= 12) {
+        event.setPending(record.booleanField(11));
       }
-      return reservation;
+      return event;
+    }
 
-    } catch (Exception e) {
-      return null;
+    // STANDARD RESERVATIONS - support both old (8 parts) and new (9 parts) formats
+    if (record.fieldCount() < 8) {
+      throw record.malformed("expected at least 8 fields, found " + record.fieldCount());
+    }
+    Reservations reservation =
+        new Reservations(
+            record.text(0),
+            record.text(1),
+            record.text(2),
+            record.text(3),
+            record.intField(4),
+            record.text(5),
+            record.doubleField(6),
+            record.booleanField(7));
+    // Only set pending if the flag exists (backward compatible)
+    if (record.fieldCount() >= 9) {
+      reservation.setPending(record.booleanField(8));
     }
+    return reservation;
   }
 
   /**
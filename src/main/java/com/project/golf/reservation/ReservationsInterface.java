@@ -46,6 +46,11 @@ public interface ReservationsInterface {
 
   boolean isEvent();
 
+  // Precomputed epoch-minute keys for conflict checks
+  long getStartMinute();
+
+  long getEndMinute();
+
   // Setter methods
   void setIsPaid(boolean isPaid);
 
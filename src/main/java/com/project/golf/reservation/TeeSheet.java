@@ -0,0 +1,175 @@
+package com.project.golf.reservation;
+
+import com.project.golf.settings.CourseSettings;
+import com.project.golf.utils.TimeUtil;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * TeeSheet.java
+ *
+ * <p>Virtual tee sheet computed from CourseSettings. Every bookable slot of a day (each tee box at
+ * each interval from opening time up to closing time) exists only as a value derived from the
+ * settings; a slot becomes a stored TeeTime row when it receives its first booking, so empty slots
+ * never reach teetimes.txt.
+ *
+ * <p>Data structures: the CourseSettings the sheet was built from. Algorithm: A slot's ID encodes
+ * its date, start time and hole ("TT-YYYY-MM-DD-HH:MM-N"), so any client can name a slot it was
+ * shown and the server can rebuild it from the ID alone, checking it against the settings again.
+ * A date is bookable from today through advanceBookingDays ahead, on days the course is open.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+public final class TeeSheet {
+
+  private static final String SLOT_PREFIX = "TT-";
+  private static final String HOLE_PREFIX = "Hole ";
+
+  /** Order of a day's sheet: by start time, then by hole number */
+  public static final Comparator<TeeTime> ORDER =
+      Comparator.comparingInt((TeeTime tt) -> TimeUtil.toMinuteOfDay(tt.getTime()))
+          .thenComparingInt(tt -> holeNumber(tt.getTeeBox()))
+          .thenComparing(TeeTime::getTeeBox);
+
+  private final CourseSettings settings; // hours, interval, tee boxes and booking window
+
+  /**
+   * Constructor for TeeSheet
+   *
+   * @param settings the course settings the slots are derived from
+   */
+  public TeeSheet(CourseSettings settings) {
+    this.settings = settings;
+  }
+
+  /**
+   * Builds the ID of a virtual slot
+   *
+   * @param date date in YYYY-MM-DD format
+   * @param time start time in HH:MM format
+   * @param hole tee box number, from 1
+   * @return the slot ID
+   */
+  public static String slotId(String date, String time, int hole) {
+    return SLOT_PREFIX + date + "-" + time + "-" + hole;
+  }
+
+  /**
+   * Checks whether a date can be booked today
+   *
+   * @param date date in YYYY-MM-DD format
+   * @return true if the date is within the booking window and the course is open that day
+   */
+  public boolean isBookable(String date) {
+    long day = TimeUtil.toEpochDay(date);
+    long today = LocalDate.now().toEpochDay();
+    if (day == Long.MIN_VALUE || day < today || day > today + settings.getAdvanceBookingDays()) {
+      return false;
+    }
+    String weekday =
+        LocalDate.ofEpochDay(day).getDayOfWeek().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+    return settings.isOpenOnDay(weekday);
+  }
+
+  /**
+   * Computes every slot of a day, none of them stored
+   *
+   * @param date date in YYYY-MM-DD format
+   * @return the day's slots by start time, then hole; empty if the date is not bookable or the
+   *     settings have no positive interval
+   */
+  public ArrayList<TeeTime> slots(String date) {
+    ArrayList<TeeTime> slots = new ArrayList<>();
+    int interval = settings.getTeeTimeInterval();
+    if (interval <= 0 || !isBookable(date)) {
+      return slots;
+    }
+    int open = TimeUtil.toMinuteOfDay(settings.getOpeningTime());
+    int close = TimeUtil.toMinuteOfDay(settings.getClosingTime());
+    for (int minute = open; minute >= 0 && minute < close; minute += interval) {
+      String time = String.format("%02d:%02d", minute / 60, minute % 60);
+      for (int hole = 1; hole <= settings.getNumberOfTeeBoxes(); hole++) {
+        slots.add(newSlot(date, time, hole));
+      }
+    }
+    return slots;
+  }
+
+  /**
+   * Rebuilds a slot from its ID, if the ID names a slot on today's sheet
+   *
+   * @param slotId ID built by slotId
+   * @return an unstored TeeTime for the slot, or null if the ID is malformed or the slot is not
+   *     bookable under the current settings
+   */
+  public TeeTime slot(String slotId) {
+    // TT-YYYY-MM-DD-HH:MM-N
+    if (slotId == null
+        || !slotId.startsWith(SLOT_PREFIX)
+        || slotId.length() < 21
+        || slotId.charAt(13) != '-'
+        || slotId.charAt(19) != '-') {
+      return null;
+    }
+    String date = slotId.substring(3, 13);
+    String time = slotId.substring(14, 19);
+    int hole;
+    try {
+      hole = Integer.parseInt(slotId.substring(20));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    if (hole < 1 || hole > settings.getNumberOfTeeBoxes() || !isBookable(date)) {
+      return null;
+    }
+    int minute = TimeUtil.toMinuteOfDay(time);
+    int open = TimeUtil.toMinuteOfDay(settings.getOpeningTime());
+    int close = TimeUtil.toMinuteOfDay(settings.getClosingTime());
+    int interval = settings.getTeeTimeInterval();
+    if (interval <= 0 || minute < open || minute >= close || (minute - open) % interval != 0) {
+      return null;
+    }
+    return newSlot(date, time, hole);
+  }
+
+  /**
+   * Gets the tee box name used for a hole number
+   *
+   * @param hole tee box number, from 1
+   * @return name such as "Hole 7"
+   */
+  public static String teeBoxName(int hole) {
+    return HOLE_PREFIX + hole;
+  }
+
+  /**
+   * Gets the number of a "Hole N" tee box
+   *
+   * @param teeBox tee box name
+   * @return N, or Integer.MAX_VALUE for any other name
+   */
+  public static int holeNumber(String teeBox) {
+    if (teeBox == null || !teeBox.startsWith(HOLE_PREFIX)) {
+      return Integer.MAX_VALUE;
+    }
+    try {
+      return Integer.parseInt(teeBox.substring(HOLE_PREFIX.length()));
+    } catch (NumberFormatException e) {
+      return Integer.MAX_VALUE;
+    }
+  }
+
+  private TeeTime newSlot(String date, String time, int hole) {
+    return new TeeTime(
+        slotId(date, time, hole),
+        date,
+        time,
+        teeBoxName(hole),
+        settings.getMaxPartySize(),
+        settings.getDefaultPricePerPerson());
+  }
+}
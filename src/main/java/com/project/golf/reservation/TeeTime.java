@@ -1,6 +1,11 @@
 package com.project.golf.reservation;
 
+import com.project.golf.utils.IdGenerator;
+import com.project.golf.utils.RecordReader;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * TeeTime.java
@@ -9,10 +14,12 @@ import java.util.ArrayList;
  * golf course times with booking capacity and pricing.
  *
  * <p>Data structures: Final String fields for teeTimeId, date, time, teeBox, final int
- * maxPartySize, double pricePerPerson, ArrayList of Reservations for bookings. Static int
- * teeTimeCounter for ID generation. Algorithm: Counter-based ID generation, ArrayList for
- * reservation storage, capacity checking against maxPartySize, price calculation per party size.
- * Features: Tee time creation and tracking, reservation management, capacity validation, pricing
+ * maxPartySize, double pricePerPerson, CopyOnWriteArrayList of Reservations for bookings,
+ * AtomicInteger of reserved spots. Algorithm: IDs come from IdGenerator so they stay unique across
+ * restarts. Spots are claimed with a compare-and-set loop on the counter that never lets it pass
+ * maxPartySize, and released by the cancel that removes the reservation, so availability reads
+ * are a single volatile load and concurrent bookings never overbook or block each other. Features:
+ * Tee time creation and tracking, reservation management, capacity validation, pricing
  * calculation, ID generation, file serialization.
  *
  * @author Anoushka Chakravarty (chakr181), L15
@@ -20,8 +27,6 @@ import java.util.ArrayList;
  */
 public class TeeTime implements TeeTimeInterface {
 
-  private static int teeTimeCounter = 1; // counter for generating unique tee time IDs
-
   private final String teeTimeId; // unique identifier for this tee time slot
   private final String date; // date of the tee time in system date format
   private final String time; // time of the tee time in system time format (HH:MM)
@@ -29,7 +34,8 @@ public class TeeTime implements TeeTimeInterface {
   private final int maxPartySize; // maximum number of golfers allowed for this time
   private double pricePerPerson; // price charged per golfer for this tee time
 
-  private final ArrayList<Reservations> reservations; // list of all reservations for this tee time
+  private final CopyOnWriteArrayList<Reservations> reservations; // all bookings of this tee time
+  private final AtomicInteger reservedSpots = new AtomicInteger(); // party sizes in reservations
 
   /**
    * Constructor for TeeTime
@@ -48,13 +54,13 @@ public class TeeTime implements TeeTimeInterface {
       int maxPartySize,
       double pricePerPerson,
       double perPerson) {
-    this.teeTimeId = generateTeeTimeId();
+    this.teeTimeId = IdGenerator.nextTeeTimeId();
     this.date = date;
     this.time = time;
     this.teeBox = teeBox;
     this.maxPartySize = maxPartySize;
     this.pricePerPerson = pricePerPerson;
-    this.reservations = new ArrayList<>();
+    this.reservations = new CopyOnWriteArrayList<>();
   }
 
   /**
@@ -80,27 +86,7 @@ public class TeeTime implements TeeTimeInterface {
     this.teeBox = teeBox;
     this.maxPartySize = maxPartySize;
     this.pricePerPerson = pricePerPerson;
-    this.reservations = new ArrayList<>();
-  }
-
-  /**
-   * Generate unique tee time ID
-   *
-   * @return new unique ID (format: TT1, TT2, etc.)
-   */
-  private static synchronized String generateTeeTimeId() {
-    String id = "TT" + teeTimeCounter;
-    teeTimeCounter++;
-    return id;
-  }
-
-  /**
-   * Generate unique reservation ID
-   *
-   * @return new unique reservation ID
-   */
-  private static synchronized String generateReservationId() {
-    return "R" + System.currentTimeMillis();
+    this.reservations = new CopyOnWriteArrayList<>();
   }
 
   // Getters
@@ -130,17 +116,13 @@ public class TeeTime implements TeeTimeInterface {
   }
 
   @Override
-  public synchronized int getReservedSpots() {
-    int total = 0;
-    for (Reservations r : reservations) {
-      total += r.getPartySize();
-    }
-    return total;
+  public int getReservedSpots() {
+    return reservedSpots.get();
   }
 
   @Override
-  public synchronized int getAvailableSpots() {
-    return maxPartySize - getReservedSpots();
+  public int getAvailableSpots() {
+    return maxPartySize - reservedSpots.get();
   }
 
   @Override
@@ -158,7 +140,7 @@ public class TeeTime implements TeeTimeInterface {
   }
 
   @Override
-  public synchronized boolean isAvailable(int partySize) {
+  public boolean isAvailable(int partySize) {
     if (partySize <= 0) {
       return false;
     }
@@ -166,12 +148,31 @@ public class TeeTime implements TeeTimeInterface {
   }
 
   @Override
-  public synchronized boolean isFullyBooked() {
+  public boolean isFullyBooked() {
     return getAvailableSpots() == 0;
   }
 
+  /**
+   * Claims spots for a party, unless that would pass maxPartySize
+   *
+   * @param partySize number of golfers, positive
+   * @return true if the spots were claimed
+   */
+  private boolean claimSpots(int partySize) {
+    while (true) {
+      int reserved = reservedSpots.get();
+      if (partySize <= 0 || reserved + partySize > maxPartySize) {
+        return false; // Not enough space
+      }
+      if (reservedSpots.compareAndSet(reserved, reserved + partySize)) {
+        return true;
+      }
+      // Another booking or cancellation changed the count first, so look again
+    }
+  }
+
   @Override
-  public synchronized Reservations bookTeeTime(int partySize, String username) {
+  public Reservations bookTeeTime(int partySize, String username) {
     // Validate inputs
     if (partySize <= 0) {
       throw new IllegalArgumentException("Party size must be positive");
@@ -180,8 +181,8 @@ public class TeeTime implements TeeTimeInterface {
       throw new IllegalArgumentException("Username is required");
     }
 
-    // Check availability
-    if (!isAvailable(partySize)) {
+    // Claim the spots first; the reservation is only created once they are ours
+    if (!claimSpots(partySize)) {
       return null; // Not enough space
     }
 
@@ -189,7 +190,7 @@ public class TeeTime implements TeeTimeInterface {
     double totalPrice = pricePerPerson * partySize;
 
     // Create reservation
-    String reservationId = generateReservationId();
+    String reservationId = IdGenerator.nextReservationId();
     Reservations reservation =
         new Reservations(reservationId, username, date, time, partySize, teeBox, totalPrice);
 
@@ -200,14 +201,24 @@ public class TeeTime implements TeeTimeInterface {
   }
 
   @Override
-  public synchronized boolean cancelReservation(String reservationId) {
+  public boolean addBooking(Reservations reservation) {
+    if (reservation == null || !claimSpots(reservation.getPartySize())) {
+      return false;
+    }
+    reservations.add(reservation);
+    return true;
+  }
+
+  @Override
+  public boolean cancelReservation(String reservationId) {
     if (reservationId == null) {
       return false;
     }
 
-    for (int i = 0; i < reservations.size(); i++) {
-      if (reservations.get(i).getReservationId().equals(reservationId)) {
-        reservations.remove(i);
+    for (Reservations r : reservations) {
+      // Only the cancel that removes the reservation gives its spots back
+      if (r.getReservationId().equals(reservationId) && reservations.remove(r)) {
+        reservedSpots.addAndGet(-r.getPartySize());
         return true;
       }
     }
@@ -216,12 +227,12 @@ public class TeeTime implements TeeTimeInterface {
   }
 
   @Override
-  public synchronized ArrayList<Reservations> getReservations() {
+  public ArrayList<Reservations> getReservations() {
     return new ArrayList<>(reservations);
   }
 
   @Override
-  public synchronized Reservations getReservation(String reservationId) {
+  public Reservations getReservation(String reservationId) {
     if (reservationId == null) {
       return null;
     }
@@ -248,29 +259,38 @@ public class TeeTime implements TeeTimeInterface {
    * @return TeeTime object or null if invalid
    */
   public static TeeTime fromFileString(String fileString) {
-    if (fileString == null || fileString.trim().isEmpty()) {
+    if (fileString == null) {
       return null;
     }
-
     try {
-      String[] parts = fileString.split(",");
-      if (parts.length != 6) {
-        return null;
-      }
-
-      String teeTimeId = parts[0];
-      String date = parts[1];
-      String time = parts[2];
-      String teeBox = parts[3];
-      int maxPartySize = Integer.parseInt(parts[4]);
-      double pricePerPerson = Double.parseDouble(parts[5]);
-
-      return new TeeTime(teeTimeId, date, time, teeBox, maxPartySize, pricePerPerson);
-    } catch (Exception e) {
+      RecordReader record = RecordReader.of(fileString);
+      return record.next() ? fromRecord(record) : null;
+    } catch (IOException | RecordReader.MalformedRecordException e) {
       return null;
     }
   }
 
+  /**
+   * Create TeeTime from the current record of a RecordReader
+   *
+   * @param record reader positioned on a teetimes.txt line
+   * @return the TeeTime
+   * @throws RecordReader.MalformedRecordException if the line does not have exactly 6 fields or a
+   *     number is invalid
+   */
+  public static TeeTime fromRecord(RecordReader record) {
+    if (record.fieldCount() != 6) {
+      throw record.malformed("expected 6 fields, found " + record.fieldCount());
+    }
+    return new TeeTime(
+        record.text(0),
+        record.text(1),
+        record.text(2),
+        record.text(3),
+        record.intField(4),
+        record.doubleField(5));
+  }
+
   @Override
   public String toString() {
     return String.format(
@@ -62,6 +62,14 @@ public interface TeeTimeInterface {
    */
   Reservations bookTeeTime(int partySize, String username);
 
+  /**
+   * Add a reservation made elsewhere (such as Database.reserve) to this tee time
+   *
+   * @param reservation the party's reservation, for this tee time's date, time and tee box
+   * @return true if added, false if null or there are not enough spots
+   */
+  boolean addBooking(Reservations reservation);
+
   /**
    * Cancel a reservation and free up spots
    *
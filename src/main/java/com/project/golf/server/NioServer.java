@@ -0,0 +1,423 @@
+package com.project.golf.server;
+
+import com.project.golf.utils.ServerConfig;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * NioServer.java
+ *
+ * <p>Selector-based alternative to Server for large numbers of mostly idle clients. Server gives
+ * every connection its own thread, which sits blocked in readLine between commands; here a few
+ * selector threads watch all connections, and a thread is only busy while a command is actually
+ * being answered, so the connection count no longer sets the thread count. Speaks exactly the same
+ * line protocol, answered by ServerWorker's command handlers. Chosen with server.mode=nio.
+ *
+ * <p>Data structures: one accept thread on a blocking ServerSocketChannel; a small array of Loops,
+ * each a Selector with its own thread and a queue of tasks handed to it by other threads; a
+ * ThreadPoolExecutor with a bounded ArrayBlockingQueue for commands; and per connection a buffer
+ * for the partial line, a queue of complete command lines and a queue of response bytes, all
+ * touched only by that connection's Loop thread. Algorithm: Accepted channels are made
+ * non-blocking and dealt round-robin to the Loops. A Loop reads whatever bytes have arrived, splits
+ * them on '\n' and hands the connection's oldest line to the pool; only one command per connection
+ * is in the pool at a time, so pipelined commands are answered in order. The pool thread passes
+ * the response back to the Loop as a task, and the Loop writes it without blocking, waiting for
+ * OP_WRITE if the client is slow. A connection with too many unanswered lines or unsent responses
+ * stops being read until it catches up, and a command the full pool rejects is answered at once
+ * with a busy error instead of queueing without limit.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+public class NioServer implements ServerInterface, Runnable {
+
+  private static final int READ_BUFFER_BYTES = 8192;
+  private static final int MAX_LINE_BYTES = 64 * 1024; // longer commands close the connection
+  private static final int MAX_BACKLOG = 64; // queued lines or responses before reading pauses
+  static final String BUSY_RESPONSE = "RESP|ERROR|Server busy, try again";
+
+  private final int port;
+  private final int selectorThreads;
+  private final int workerThreads;
+  private final int workerQueue;
+  private final ServerWorker handler = new ServerWorker(); // stateless, shared by the pool
+
+  private volatile boolean running = false;
+  private volatile ServerSocketChannel serverChannel = null;
+  private volatile Loop[] loops = new Loop[0];
+  private volatile ThreadPoolExecutor workers = null;
+  private final AtomicInteger connections = new AtomicInteger();
+
+  /**
+   * Constructor using the thread counts from server.properties
+   *
+   * @param port the port to listen on
+   */
+  public NioServer(int port) {
+    this(
+        port,
+        ServerConfig.getSelectorThreads(),
+        ServerConfig.getWorkerThreads(),
+        ServerConfig.getWorkerQueueSize());
+  }
+
+  /**
+   * Constructor for NioServer
+   *
+   * @param port the port to listen on
+   * @param selectorThreads number of threads doing connection I/O (at least 1)
+   * @param workerThreads number of threads answering commands (at least 1)
+   * @param workerQueue commands that may wait for a worker before clients are told to retry
+   */
+  public NioServer(int port, int selectorThreads, int workerThreads, int workerQueue) {
+    this.port = port;
+    this.selectorThreads = Math.max(1, selectorThreads);
+    this.workerThreads = Math.max(1, workerThreads);
+    this.workerQueue = Math.max(1, workerQueue);
+  }
+
+  @Override
+  public void start() throws IOException {
+    if (running) {
+      return;
+    }
+    new Thread(this, "NioServer-Main").start();
+  }
+
+  @Override
+  public void stop() throws IOException {
+    running = false;
+    ServerSocketChannel channel = serverChannel;
+    if (channel != null && channel.isOpen()) {
+      channel.close(); // unblocks accept()
+    }
+    shutdown();
+  }
+
+  @Override
+  public int getPort() {
+    return port;
+  }
+
+  /**
+   * Gets the number of client connections currently open
+   *
+   * @return open connections across all selector threads
+   */
+  public int getConnectionCount() {
+    return connections.get();
+  }
+
+  @Override
+  public void run() {
+    try (ServerSocketChannel ss = ServerSocketChannel.open()) {
+      ss.bind(new InetSocketAddress(port));
+      serverChannel = ss;
+      workers =
+          new ThreadPoolExecutor(
+              workerThreads,
+              workerThreads,
+              0L,
+              TimeUnit.MILLISECONDS,
+              new ArrayBlockingQueue<>(workerQueue),
+              r -> daemon(r, "NioServer-Worker-" + port));
+      Loop[] started = new Loop[selectorThreads];
+      for (int i = 0; i < started.length; i++) {
+        started[i] = new Loop();
+        daemon(started[i], "NioServer-Selector-" + port + "-" + i).start();
+      }
+      loops = started;
+      running = true;
+      System.out.println(
+          "Server listening on port "
+              + port
+              + " ("
+              + selectorThreads
+              + " selector, "
+              + workerThreads
+              + " worker threads)");
+
+      int next = 0;
+      while (running) {
+        SocketChannel client;
+        try {
+          client = ss.accept();
+        } catch (IOException e) {
+          if (!running) {
+            break; // closed by stop()
+          }
+          System.err.println("I/O error in accept(): " + e.getMessage());
+          continue;
+        }
+        try {
+          client.configureBlocking(false);
+          started[next].register(client);
+          next = (next + 1) % started.length;
+        } catch (IOException e) {
+          System.err.println("Error registering client: " + e.getMessage());
+          closeQuietly(client);
+        }
+      }
+    } catch (IOException e) {
+      System.err.println("Server socket error: " + e.getMessage());
+    } finally {
+      running = false;
+      shutdown();
+      System.out.println("Server stopped.");
+    }
+  }
+
+  /** Stops the selector threads, which close their connections, and the worker pool */
+  private void shutdown() {
+    for (Loop loop : loops) {
+      loop.close();
+    }
+    ThreadPoolExecutor pool = workers;
+    if (pool != null) {
+      pool.shutdownNow();
+    }
+  }
+
+  private static Thread daemon(Runnable r, String name) {
+    Thread t = new Thread(r, name);
+    t.setDaemon(true);
+    return t;
+  }
+
+  private static void closeQuietly(SocketChannel channel) {
+    try {
+      channel.close();
+    } catch (IOException ignored) {
+    }
+  }
+
+  /** One selector thread and the connections registered with it */
+  private final class Loop implements Runnable {
+    private final Selector selector;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_BYTES);
+    private volatile boolean open = true;
+
+    private Loop() throws IOException {
+      selector = Selector.open();
+    }
+
+    /** Runs a task on this loop's thread, which owns every connection registered here */
+    private void execute(Runnable task) {
+      tasks.add(task);
+      selector.wakeup();
+    }
+
+    /** Hands over a newly accepted non-blocking channel */
+    private void register(SocketChannel channel) {
+      execute(
+          () -> {
+            try {
+              Connection connection = new Connection(channel, this);
+              connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+              connections.incrementAndGet();
+            } catch (ClosedChannelException e) {
+              closeQuietly(channel);
+            }
+          });
+    }
+
+    private void close() {
+      open = false;
+      selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (open) {
+          selector.select();
+          Runnable task;
+          while ((task = tasks.poll()) != null) {
+            try {
+              task.run();
+            } catch (RuntimeException e) {
+              System.err.println("Error in selector task: " + e.getMessage());
+            }
+          }
+          Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+          while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            Connection connection = (Connection) key.attachment();
+            try {
+              if (key.isValid() && key.isWritable()) {
+                connection.flush();
+              }
+              if (key.isValid() && key.isReadable()) {
+                connection.read();
+              }
+            } catch (IOException | CancelledKeyException e) {
+              connection.close();
+            }
+          }
+        }
+      } catch (IOException e) {
+        System.err.println("Selector error: " + e.getMessage());
+      } finally {
+        for (SelectionKey key : selector.keys()) {
+          if (key.attachment() instanceof Connection) {
+            ((Connection) key.attachment()).close();
+          }
+        }
+        try {
+          selector.close();
+        } catch (IOException ignored) {
+        }
+      }
+    }
+  }
+
+  /** State of one client; only its Loop's thread touches it */
+  private final class Connection {
+    private final SocketChannel channel;
+    private final Loop loop;
+    private SelectionKey key;
+    private final ByteArrayOutputStream partial = new ByteArrayOutputStream(); // unfinished line
+    private final ArrayDeque<String> lines = new ArrayDeque<>(); // waiting for the pool
+    private final ArrayDeque<ByteBuffer> output = new ArrayDeque<>(); // waiting for the socket
+    private boolean inFlight = false; // a command of ours is with the pool
+    private boolean inputDone = false; // client closed its side or sent too long a line
+    private boolean closed = false;
+
+    private Connection(SocketChannel channel, Loop loop) {
+      this.channel = channel;
+      this.loop = loop;
+    }
+
+    /** Reads what has arrived and queues every complete line */
+    private void read() throws IOException {
+      ByteBuffer buffer = loop.readBuffer;
+      buffer.clear();
+      int n = channel.read(buffer);
+      if (n < 0) {
+        inputDone = true; // answer what was sent, then close
+      }
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        byte b = buffer.get();
+        if (b == '\n') {
+          String line = partial.toString(StandardCharsets.UTF_8).trim();
+          partial.reset();
+          if (!line.isEmpty()) {
+            lines.add(line);
+          }
+        } else if (partial.size() < MAX_LINE_BYTES) {
+          partial.write(b);
+        } else {
+          System.err.println("Closing connection: command over " + MAX_LINE_BYTES + " bytes");
+          partial.reset();
+          inputDone = true;
+          break;
+        }
+      }
+      dispatch();
+      update();
+    }
+
+    /** Sends the oldest waiting line to the pool unless one is already there */
+    private void dispatch() throws IOException {
+      while (!inFlight && !lines.isEmpty()) {
+        String line = lines.poll();
+        ThreadPoolExecutor pool = workers;
+        try {
+          pool.execute(
+              () -> {
+                String response = handler.respond(line);
+                loop.execute(() -> complete(response));
+              });
+          inFlight = true;
+        } catch (RejectedExecutionException e) {
+          queue(BUSY_RESPONSE); // pool and its queue are full, or shutting down
+        }
+      }
+    }
+
+    /** Called on the loop thread with the response to the command in flight */
+    private void complete(String response) {
+      if (closed) {
+        return;
+      }
+      inFlight = false;
+      try {
+        queue(response);
+        dispatch();
+        flush();
+      } catch (IOException | CancelledKeyException e) {
+        close();
+      }
+    }
+
+    private void queue(String response) {
+      output.add(ByteBuffer.wrap((response + "\n").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** Writes queued responses until the socket would block */
+    private void flush() throws IOException {
+      while (!output.isEmpty()) {
+        ByteBuffer head = output.peek();
+        channel.write(head);
+        if (head.hasRemaining()) {
+          break;
+        }
+        output.poll();
+      }
+      update();
+    }
+
+    /** Sets interest ops from the queues, or closes once a finished client has every answer */
+    private void update() throws IOException {
+      if (closed) {
+        return;
+      }
+      if (inputDone && !inFlight && lines.isEmpty() && output.isEmpty()) {
+        close();
+        return;
+      }
+      int ops = 0;
+      if (!inputDone && lines.size() < MAX_BACKLOG && output.size() < MAX_BACKLOG) {
+        ops |= SelectionKey.OP_READ;
+      }
+      if (!output.isEmpty()) {
+        ops |= SelectionKey.OP_WRITE;
+      }
+      key.interestOps(ops);
+    }
+
+    private void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      lines.clear();
+      output.clear();
+      if (key != null) {
+        key.cancel();
+      }
+      closeQuietly(channel);
+      connections.decrementAndGet();
+    }
+  }
+}
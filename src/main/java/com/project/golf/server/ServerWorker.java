@@ -3,10 +3,12 @@ package com.project.golf.server;
 import com.project.golf.database.*;
 import com.project.golf.events.*;
 import com.project.golf.reservation.*;
+import com.project.golf.utils.IdGenerator;
 import com.project.golf.utils.PasswordUtil;
 import java.io.*;
 import java.net.Socket;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * ServerWorker.java
@@ -30,6 +32,8 @@ public class ServerWorker implements Runnable {
   private BufferedReader in; // input stream from client
   private PrintWriter out; // output stream to client
 
+  private static final int MAX_FIND_RESULTS = 50; // most slots one FIND_TT may return
+
   /**
    * Constructor for ServerWorker
    *
@@ -39,6 +43,11 @@ public class ServerWorker implements Runnable {
     this.socket = socket;
   }
 
+  /** Constructor for a worker that only answers commands, for NioServer which does its own I/O */
+  ServerWorker() {
+    this(null);
+  }
+
   @Override
   public void run() {
     String remote = socket.getRemoteSocketAddress().toString();
@@ -59,12 +68,7 @@ public class ServerWorker implements Runnable {
           continue;
         }
 
-        try {
-          String response = handleCommand(line);
-          out.println(response);
-        } catch (Exception e) {
-          out.println("RESP|ERROR|Internal server error: " + e.getMessage());
-        }
+        out.println(respond(line));
       }
     } catch (IOException e) {
       System.out.println("Connection closed: " + remote);
@@ -86,6 +90,35 @@ public class ServerWorker implements Runnable {
     }
   }
 
+  /**
+   * Answers one trimmed, non-empty command line, turning any failure into an error response
+   *
+   * @param line the command line from client
+   * @return server response (RESP|OK|... or RESP|ERROR|...)
+   */
+  String respond(String line) {
+    try {
+      return handleCommand(line);
+    } catch (Exception e) {
+      return "RESP|ERROR|Internal server error: " + e.getMessage();
+    }
+  }
+
+  /**
+   * Saves a command's changes so they are durable before the command is acknowledged
+   *
+   * @param db the database the command changed
+   * @return null once saved, or the error response to send instead of RESP|OK
+   */
+  private static String save(Database db) {
+    try {
+      db.saveToFile();
+      return null;
+    } catch (Exception e) {
+      return "RESP|ERROR|Could not save changes: " + e.getMessage();
+    }
+  }
+
   /**
    * Routes incoming command to appropriate handler method Protocol: COMMAND|arg1|arg2|...
    *
@@ -113,6 +146,8 @@ public class ServerWorker implements Runnable {
         return handleListTeeTimes(parts);
       case "BOOK_TT":
         return handleBookTeeTime(parts);
+      case "FIND_TT":
+        return handleFindTeeTimes(parts);
       case "LIST_EVENTS":
         return handleListEvents(parts);
       case "BOOK_EVENT":
@@ -155,9 +190,9 @@ public class ServerWorker implements Runnable {
 
     Database db = Database.getInstance();
 
-    // Reload users from file to get latest user data (e.g., newly added users)
+    // Pick up users added by another process (e.g., the admin GUI) without reloading bookings
     try {
-      db.loadFromFile();
+      db.reloadUsersIfChanged();
     } catch (Exception e) {
       System.err.println("Warning: Could not reload user data: " + e.getMessage());
     }
@@ -220,10 +255,9 @@ public class ServerWorker implements Runnable {
         db.addUser(
             new com.project.golf.users.User(username, hashedPassword, first, last, email, hasPaid));
     if (added) {
-      try {
-        db.saveToFile();
-      } catch (Exception e) {
-        // Intentionally left blank
+      String saveError = save(db);
+      if (saveError != null) {
+        return saveError;
       }
       return "RESP|OK|User added";
     } else {
@@ -284,9 +318,9 @@ public class ServerWorker implements Runnable {
 
     Database db = Database.getInstance();
 
-    // Reload users to get latest data
+    // Pick up users changed by another process since the last check
     try {
-      db.loadFromFile();
+      db.reloadUsersIfChanged();
     } catch (Exception e) {
       System.err.println("Warning: Could not reload user data: " + e.getMessage());
     }
@@ -301,8 +335,9 @@ public class ServerWorker implements Runnable {
   }
 
   /**
-   * Handles LIST_TT command: retrieves available tee times for a date Returns pipe-separated list
-   * of tee time details
+   * Handles LIST_TT command: retrieves the tee sheet for a date, stored tee times plus a virtual
+   * slot for every empty, unblocked time and hole the course settings allow Returns pipe-separated
+   * list of tee time details
    *
    * <p>Protocol: LIST_TT|YYYY-MM-DD Response: RESP|OK|teeTime1|teeTime2|...
    *
@@ -315,7 +350,7 @@ public class ServerWorker implements Runnable {
     }
     String date = parts[1];
     Database db = Database.getInstance();
-    ArrayList<TeeTime> list = db.getTeeTimesByDate(date);
+    ArrayList<TeeTime> list = db.getTeeSheet(date); // stored rows plus the open virtual slots
     if (list == null || list.isEmpty()) {
       return "RESP|OK|"; // empty payload
     }
@@ -362,39 +397,89 @@ public class ServerWorker implements Runnable {
     String username = parts[3];
 
     Database db = Database.getInstance();
-    TeeTime tt = db.findTeeTime(ttId);
+    TeeTime tt = db.resolveTeeTime(ttId);
     if (tt == null) {
       return "RESP|ERROR|TeeTime not found";
     }
 
-    // Check for conflicts with existing reservations and events
-    if (db.hasReservationConflict(tt.getDate(), tt.getTime(), tt.getTeeBox(), null)) {
-      return "RESP|ERROR|Cannot book - time slot conflicts with existing reservation or event";
-    }
+    Reservations r =
+        new Reservations(
+            IdGenerator.nextReservationId(),
+            username,
+            tt.getDate(),
+            tt.getTime(),
+            partySize,
+            tt.getTeeBox(),
+            tt.getPricePerPerson() * partySize);
 
-    if (!tt.isAvailable(partySize)) {
-      return "RESP|ERROR|Not enough spots available";
+    // Conflicts and spots are checked in the same critical section that stores the booking (and
+    // a virtual slot's tee time row), so concurrent bookings of one slot cannot both succeed
+    ReserveResult result = db.reserve(tt, r);
+    if (result != ReserveResult.RESERVED) {
+      return "RESP|ERROR|" + result.getMessage();
     }
+    String saveError = save(db);
+    if (saveError != null) {
+      return saveError;
+    }
+    return "RESP|OK|" + r.toFileString();
+  }
 
-    // Book and persist via Database if desired
-    Reservations r = tt.bookTeeTime(partySize, username);
-    boolean saved = false;
-    // add reservation to global DB list so Database.saveToFile will persist it
-    if (r != null) {
-      saved = db.addReservation(r);
-      try {
-        db.saveToFile();
-      } catch (Exception e) {
-        // Intentionally left blank
+  /**
+   * Handles FIND_TT command: searches for the earliest tee times a party can book, so a client can
+   * offer real openings instead of retrying BOOK_TT or CREATE_RESERVATION until one succeeds
+   * Optional fields may be left empty to use their defaults.
+   *
+   * <p>Protocol: FIND_TT|fromDate|toDate|partySize|count[|earliest|latest[|holes]] where holes is a
+   * comma-separated list such as 1,3,7 Response: RESP|OK|teeTime1|teeTime2|... with each tee time
+   * in the LIST_TT format followed by its tee box
+   *
+   * @param parts command parts split by pipe delimiter
+   * @return server response with up to count open tee times, earliest first
+   */
+  private String handleFindTeeTimes(String[] parts) {
+    if (parts.length < 5) {
+      return "RESP|ERROR|FIND_TT requires fromDate, toDate, partySize, count";
+    }
+    int partySize;
+    int count;
+    ArrayList<Integer> holes = new ArrayList<>();
+    try {
+      partySize = Integer.parseInt(parts[3]);
+      count = Math.min(Integer.parseInt(parts[4]), MAX_FIND_RESULTS);
+      if (parts.length > 7) {
+        for (String hole : parts[7].split(",")) {
+          if (!hole.trim().isEmpty()) {
+            holes.add(Integer.parseInt(hole.trim()));
+          }
+        }
       }
+    } catch (NumberFormatException e) {
+      return "RESP|ERROR|Invalid partySize, count or hole";
     }
-    if (r != null && saved) {
-      return "RESP|OK|" + r.toFileString();
-    } else if (r != null) {
-      return "RESP|OK|Reservation created (not persisted)";
-    } else {
-      return "RESP|ERROR|Could not create reservation";
+    String earliest = parts.length > 5 && !parts[5].isEmpty() ? parts[5] : null;
+    String latest = parts.length > 6 && !parts[6].isEmpty() ? parts[6] : null;
+
+    Database db = Database.getInstance();
+    ArrayList<TeeTime> list =
+        db.findOpenTeeTimes(parts[1], parts[2], partySize, earliest, latest, holes, count);
+    StringBuilder sb = new StringBuilder();
+    for (TeeTime tt : list) {
+      sb.append(
+          String.format(
+              "%s;%s;%s;%d;%d;%.2f;%s|",
+              tt.getTeeTimeId(),
+              tt.getDate(),
+              tt.getTime(),
+              tt.getAvailableSpots(),
+              tt.getMaxPartySize(),
+              tt.getPricePerPerson(),
+              tt.getTeeBox()));
     }
+    if (sb.length() > 0) {
+      sb.setLength(sb.length() - 1);
+    }
+    return "RESP|OK|" + sb.toString();
   }
 
   /**
@@ -408,8 +493,8 @@ public class ServerWorker implements Runnable {
    */
   private String handleListEvents(String[] parts) {
     Database db = Database.getInstance();
-    ArrayList<Event> events = db.getAllEvents();
-    if (events == null || events.isEmpty()) {
+    List<Event> events = db.getEventSnapshot(); // shared, read-only
+    if (events.isEmpty()) {
       return "RESP|OK|";
     }
     StringBuilder sb = new StringBuilder();
@@ -455,7 +540,7 @@ public class ServerWorker implements Runnable {
     try {
       // Since Event extends Reservations, we can add it directly as a reservation
       // Create a new reservation for this event booking
-      String reservationId = "R" + System.currentTimeMillis();
+      String reservationId = IdGenerator.nextReservationId();
       Reservations r =
           new Reservations(
               reservationId,
@@ -468,10 +553,9 @@ public class ServerWorker implements Runnable {
               false);
       boolean saved = db.addReservation(r);
       if (saved) {
-        try {
-          db.saveToFile();
-        } catch (Exception e) {
-          // Intentionally left blank
+        String saveError = save(db);
+        if (saveError != null) {
+          return saveError;
         }
         return "RESP|OK|" + r.toFileString();
       } else {
@@ -484,9 +568,11 @@ public class ServerWorker implements Runnable {
 
   /**
    * Handles GET_RESERVATIONS command: retrieves all reservations for a user Returns pipe-separated
-   * list of reservation details
+   * list of reservation details, earliest start first. The optional UPCOMING or PAST scope limits
+   * the list to reservations starting from now on or before now
    *
-   * <p>Protocol: GET_RESERVATIONS|username Response: RESP|OK|reservation1|reservation2|...
+   * <p>Protocol: GET_RESERVATIONS|username[|UPCOMING|PAST] Response:
+   * RESP|OK|reservation1|reservation2|...
    *
    * @param parts command parts split by pipe delimiter
    * @return server response with user's reservations
@@ -497,7 +583,22 @@ public class ServerWorker implements Runnable {
     }
     String username = parts[1];
     Database db = Database.getInstance();
-    ArrayList<Reservations> list = db.getReservationsByUser(username);
+    String scope = parts.length > 2 ? parts[2].trim().toUpperCase() : "";
+    ArrayList<Reservations> list;
+    switch (scope) {
+      case "":
+      case "ALL":
+        list = db.getReservationsByUser(username);
+        break;
+      case "UPCOMING":
+        list = db.getUpcomingReservationsByUser(username);
+        break;
+      case "PAST":
+        list = db.getPastReservationsByUser(username);
+        break;
+      default:
+        return "RESP|ERROR|Unknown reservation scope: " + parts[2];
+    }
     if (list == null || list.isEmpty()) {
       return "RESP|OK|";
     }
@@ -528,16 +629,11 @@ public class ServerWorker implements Runnable {
     String resId = parts[1];
     Database db = Database.getInstance();
     boolean removed = db.removeReservation(resId);
-    try {
-      db.saveToFile();
-    } catch (Exception e) {
-      // Intentionally left blank
-    }
-    if (removed) {
-      return "RESP|OK|Cancelled";
-    } else {
+    if (!removed) {
       return "RESP|ERROR|Reservation not found";
     }
+    String saveError = save(db);
+    return saveError != null ? saveError : "RESP|OK|Cancelled";
   }
 
   // CREATE_EVENT|eventName|date|time|endDate|endTime|price|username
@@ -555,17 +651,16 @@ public class ServerWorker implements Runnable {
       double price = Double.parseDouble(parts[6]);
 
       // Generate event ID
-      String eventId = "E" + System.currentTimeMillis();
+      String eventId = IdGenerator.nextEventId();
 
       // Create event and add to pending list
       Event event = new Event(eventId, eventName, date, time, 200, "All", price, endDate, endTime);
       Database db = Database.getInstance();
 
       if (db.addPendingEvent(event)) {
-        try {
-          db.saveToFile();
-        } catch (Exception e) {
-          // Intentionally left blank
+        String saveError = save(db);
+        if (saveError != null) {
+          return saveError;
         }
         return "RESP|OK|Event request submitted for admin approval|" + eventId;
       } else {
@@ -615,13 +710,11 @@ public class ServerWorker implements Runnable {
     // Approve and remove conflicts
     ArrayList<Reservations> removed = db.approvePendingEvent(eventId);
 
-    try {
-      db.saveToFile();
-    } catch (Exception e) {
-      // Intentionally left blank
-    }
-
     if (removed != null) {
+      String saveError = save(db);
+      if (saveError != null) {
+        return saveError;
+      }
       // Return conflicts info so admin can see what was deleted
       StringBuilder sb = new StringBuilder();
       sb.append("Event approved");
@@ -647,17 +740,11 @@ public class ServerWorker implements Runnable {
     Database db = Database.getInstance();
 
     boolean removed = db.removePendingEvent(eventId);
-    try {
-      db.saveToFile();
-    } catch (Exception e) {
-      // Intentionally left blank
-    }
-
-    if (removed) {
-      return "RESP|OK|Event request rejected";
-    } else {
+    if (!removed) {
       return "RESP|ERROR|Pending event not found";
     }
+    String saveError = save(db);
+    return saveError != null ? saveError : "RESP|OK|Event request rejected";
   }
 
   /**
@@ -687,34 +774,24 @@ public class ServerWorker implements Runnable {
 
       Database db = Database.getInstance();
 
-      // Check for conflicts
-      if (db.hasReservationConflict(date, time, teeBox, editingReservationId)) {
-        return "RESP|ERROR|This time slot conflicts with an existing reservation or event";
-      }
-
       // Generate reservation ID
-      String reservationId = "R" + System.currentTimeMillis();
+      String reservationId = IdGenerator.nextReservationId();
 
       // Create reservation
       Reservations reservation =
           new Reservations(reservationId, username, date, time, partySize, teeBox, price, false);
 
-      // If editing, remove old reservation first
-      if (editingReservationId != null && !editingReservationId.isEmpty()) {
-        db.removeReservation(editingReservationId);
+      // Checked and stored in one critical section; if editing, the old reservation is removed
+      // in the same step as the new one is added
+      ReserveResult result = db.reserve(reservation, editingReservationId);
+      if (result != ReserveResult.RESERVED) {
+        return "RESP|ERROR|" + result.getMessage();
       }
-
-      // Add new reservation
-      if (db.addReservation(reservation)) {
-        try {
-          db.saveToFile();
-        } catch (Exception e) {
-          // Intentionally left blank
-        }
-        return "RESP|OK|" + reservation.toFileString();
-      } else {
-        return "RESP|ERROR|Failed to create reservation";
+      String saveError = save(db);
+      if (saveError != null) {
+        return saveError;
       }
+      return "RESP|OK|" + reservation.toFileString();
     } catch (NumberFormatException e) {
       return "RESP|ERROR|Invalid number format";
     } catch (Exception e) {
@@ -293,6 +293,9 @@ public class CourseSettings implements CourseSettingsInterface {
       String closingTime = parts[2];
       double defaultPrice = Double.parseDouble(parts[3]);
       int interval = Integer.parseInt(parts[4]);
+      if (interval <= 0) {
+        return null; // a tee sheet needs a positive interval between tee times
+      }
       int maxParty = Integer.parseInt(parts[5]);
       int numTeeBoxes = Integer.parseInt(parts[6]);
       int advanceBooking = Integer.parseInt(parts[7]);
@@ -1,5 +1,8 @@
 package com.project.golf.users;
 
+import com.project.golf.utils.RecordReader;
+import java.io.IOException;
+
 /**
  * User.java
  *
@@ -167,30 +170,40 @@ public class User implements UserInterface {
    * @return User object or null if invalid
    */
   public static User fromFileString(String fileString) {
-    if (fileString == null || fileString.trim().isEmpty()) {
+    if (fileString == null) {
       return null;
     }
-
     try {
-      String[] parts = fileString.split(",");
-      if (parts.length < 6) {
-        return null;
-      }
-
-      String username = parts[0];
-      String password = parts[1];
-      String firstName = parts[2];
-      String lastName = parts[3];
-      String email = parts[4];
-      boolean hasPaid = Boolean.parseBoolean(parts[5]);
-      boolean isAdmin = (parts.length > 6) ? Boolean.parseBoolean(parts[6]) : false;
-
-      return new User(username, password, firstName, lastName, email, hasPaid, isAdmin);
-    } catch (Exception e) {
+      RecordReader record = RecordReader.of(fileString);
+      return record.next() ? fromRecord(record) : null;
+    } catch (IOException | RecordReader.MalformedRecordException e) {
       return null;
     }
   }
 
+  /**
+   * Create User from the current record of a RecordReader. The isAdmin field is optional and
+   * defaults to false
+   *
+   * @param record reader positioned on a users.txt line
+   * @return the User
+   * @throws RecordReader.MalformedRecordException if the line has fewer than 6 fields
+   */
+  public static User fromRecord(RecordReader record) {
+    if (record.fieldCount() < 6) {
+      throw record.malformed("expected at least 6 fields, found " + record.fieldCount());
+    }
+    boolean isAdmin = record.fieldCount() > 6 && record.booleanField(6);
+    return new User(
+        record.text(0),
+        record.text(1),
+        record.text(2),
+        record.text(3),
+        record.text(4),
+        record.booleanField(5),
+        isAdmin);
+  }
+
   /**
    * String representation of user
    *
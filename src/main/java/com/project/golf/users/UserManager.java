@@ -1,8 +1,12 @@
 package com.project.golf.users;
 
 import com.project.golf.utils.PasswordUtil;
+import com.project.golf.utils.RecordReader;
 import java.io.*;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -12,16 +16,18 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * creation, authentication, lookup, and deletion. Automatically loads existing users from disk on
  * initialization.
  *
- * <p>Data structures: ArrayList of User objects, ReentrantReadWriteLock for synchronization.
- * Algorithm: Linear search for user lookup, file I/O for persistence. Features: User CRUD
+ * <p>Data structures: LinkedHashMap of User objects keyed by username, HashMap index on lower-cased
+ * email, ReentrantReadWriteLock for synchronization. Algorithm: Hashed user lookup, file I/O for
+ * persistence. Features: User CRUD
  * operations, login validation, thread-safe read/write access.
  *
  * @author Ethan Billau (ebillau), Connor Landzettel (clandzet), L15
  * @version November 10, 2025
  */
 public class UserManager implements UserManagerInterface {
-  // In-memory user list
-  private ArrayList<User> users;
+  // In-memory users keyed by username, plus a lower-cased email index
+  private LinkedHashMap<String, User> users;
+  private HashMap<String, User> usersByEmail;
   // Thread safety locks for read/write operations
   private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
   private final ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
@@ -32,7 +38,8 @@ public class UserManager implements UserManagerInterface {
 
   /** Constructor for UserManager Initializes the users list */
   public UserManager() {
-    users = new ArrayList<>();
+    users = new LinkedHashMap<>();
+    usersByEmail = new HashMap<>();
     try {
       loadUsersFromFile(); // Load existing users on startup
     } catch (IOException e) {
@@ -73,7 +80,7 @@ public class UserManager implements UserManagerInterface {
       // Hash the password before storing
       String hashedPassword = PasswordUtil.hashPassword(password);
       User newUser = new User(username, hashedPassword, firstName, lastName, email, hasPaid);
-      users.add(newUser);
+      indexUser(newUser);
       saveUsersToFile(); // Persist change
       return true;
     } catch (IOException e) {
@@ -94,12 +101,7 @@ public class UserManager implements UserManagerInterface {
   public User findUser(String username) {
     readLock.lock();
     try {
-      for (User u : users) {
-        if (u.getUsername().equals(username)) {
-          return u;
-        }
-      }
-      return null;
+      return users.get(username);
     } finally {
       readLock.unlock();
     }
@@ -117,12 +119,7 @@ public class UserManager implements UserManagerInterface {
       if (email == null) {
         return null;
       }
-      for (User u : users) {
-        if (email.equalsIgnoreCase(u.getEmail())) {
-          return u;
-        }
-      }
-      return null;
+      return usersByEmail.get(email.toLowerCase(Locale.ROOT));
     } finally {
       readLock.unlock();
     }
@@ -173,9 +170,13 @@ public class UserManager implements UserManagerInterface {
   public boolean removeUser(String username) {
     writeLock.lock();
     try {
-      boolean removed = users.removeIf(u -> u.getUsername().equals(username));
-      if (removed) saveUsersToFile(); // Persist change
-      return removed;
+      User removed = users.remove(username);
+      if (removed == null) return false;
+      if (removed.getEmail() != null) {
+        usersByEmail.remove(removed.getEmail().toLowerCase(Locale.ROOT), removed);
+      }
+      saveUsersToFile(); // Persist change
+      return true;
     } catch (IOException e) {
       System.out.println("Error saving user data: " + e.getMessage());
       return false;
@@ -193,26 +194,31 @@ public class UserManager implements UserManagerInterface {
   public ArrayList<User> getAllUsers() {
     readLock.lock();
     try {
-      return new ArrayList<>(users);
+      return new ArrayList<>(users.values());
     } finally {
       readLock.unlock();
     }
   }
 
   /**
-   * Persists all users to disk file Thread safe with read lock. Writes all user data as
-   * comma-delimited lines.
+   * Persists all users to disk file Thread safe with write lock. Writes all user data as
+   * comma-delimited lines. The indexes are rebuilt first because the account GUI edits User
+   * objects in place (e.g. a new username or email) and then saves.
    *
    * @throws IOException if file write operation fails
    */
   public void saveUsersToFile() throws IOException {
-    readLock.lock();
+    writeLock.lock();
     try (PrintWriter pw = new PrintWriter(new FileWriter(USERS_FILE))) {
-      for (User u : users) {
+      ArrayList<User> all = new ArrayList<>(users.values());
+      users.clear();
+      usersByEmail.clear();
+      for (User u : all) {
+        indexUser(u);
         pw.println(u.toFileString());
       }
     } finally {
-      readLock.unlock();
+      writeLock.unlock();
     }
   }
 
@@ -225,18 +231,27 @@ public class UserManager implements UserManagerInterface {
   public void loadUsersFromFile() throws IOException {
     writeLock.lock();
     try {
-      File file = new File(USERS_FILE);
-      if (!file.exists()) return;
-
-      try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-        String line;
-        while ((line = br.readLine()) != null) {
-          User u = User.fromFileString(line);
-          if (u != null) users.add(u);
-        }
-      }
+      RecordReader.forEach(
+          new File(USERS_FILE),
+          User::fromRecord,
+          u -> {
+            if (!users.containsKey(u.getUsername())) indexUser(u);
+          });
     } finally {
       writeLock.unlock();
     }
   }
+
+  /**
+   * Adds a user to the username map and the email index Caller must hold the write lock. An email
+   * already claimed by another user keeps pointing at that user, matching first-match lookups.
+   *
+   * @param user the user to index
+   */
+  private void indexUser(User user) {
+    users.put(user.getUsername(), user);
+    if (user.getEmail() != null) {
+      usersByEmail.putIfAbsent(user.getEmail().toLowerCase(Locale.ROOT), user);
+    }
+  }
 }
@@ -0,0 +1,134 @@
+package com.project.golf.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * IdGenerator.java
+ *
+ * <p>Central allocator for reservation ("R"), event ("E") and tee time ("TT") IDs. Every ID is a
+ * prefix followed by one decimal number, so the data files keep their format and older
+ * millisecond-based IDs stay valid alongside new ones.
+ *
+ * <p>Data structures: one AtomicLong holding the stamp of the last ID handed out, where a stamp is
+ * (milliseconds since 2025-01-01 &lt;&lt; 12) | sequence. Algorithm: next() advances the stamp to
+ * max(last + 1, now &lt;&lt; 12) with a single compare-and-set loop, so concurrent callers never
+ * block and never share a stamp; a burst of more than 4096 IDs in one millisecond simply borrows
+ * from the next one. The number is (stamp &lt;&lt; 10) | node, where node comes from server.nodeId,
+ * so two servers writing the same files cannot collide either. The stamp never moves backwards
+ * within a run, and Database passes every loaded ID to observe() so it never moves backwards
+ * across restarts, even if the clock does.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+public final class IdGenerator {
+
+  public static final String RESERVATION_PREFIX = "R";
+  public static final String EVENT_PREFIX = "E";
+  public static final String TEE_TIME_PREFIX = "TT";
+
+  private static final int SEQUENCE_BITS = 12;
+  private static final int NODE_BITS = 10;
+  public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+  private static final long EPOCH_MILLIS = 1735689600000L; // 2025-01-01T00:00:00Z
+
+  private static final AtomicLong lastStamp = new AtomicLong(); // stamp of the newest ID issued
+  private static volatile int nodeId = -1; // read from ServerConfig on first use
+
+  private IdGenerator() {}
+
+  /**
+   * Allocates a new reservation ID
+   *
+   * @return unique ID starting with "R"
+   */
+  public static String nextReservationId() {
+    return next(RESERVATION_PREFIX);
+  }
+
+  /**
+   * Allocates a new event ID
+   *
+   * @return unique ID starting with "E"
+   */
+  public static String nextEventId() {
+    return next(EVENT_PREFIX);
+  }
+
+  /**
+   * Allocates a new tee time ID
+   *
+   * @return unique ID starting with "TT"
+   */
+  public static String nextTeeTimeId() {
+    return next(TEE_TIME_PREFIX);
+  }
+
+  /**
+   * Allocates a new ID with the given prefix
+   *
+   * @param prefix letters to put before the number
+   * @return prefix followed by a number no other call returns
+   */
+  public static String next(String prefix) {
+    return prefix + nextValue();
+  }
+
+  /**
+   * Allocates the next number, larger than every number issued or observed before
+   *
+   * @return unique, strictly increasing value
+   */
+  public static long nextValue() {
+    long floor = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+    long stamp = lastStamp.accumulateAndGet(floor, (last, now) -> Math.max(last + 1, now));
+    return (stamp << NODE_BITS) | nodeId();
+  }
+
+  /**
+   * Records an ID that already exists so later IDs sort after it. IDs without a numeric suffix
+   * are ignored.
+   *
+   * @param id an ID read from disk, in any of the prefix + number formats
+   */
+  public static void observe(String id) {
+    if (id == null) {
+      return;
+    }
+    int start = id.length();
+    while (start > 0 && Character.isDigit(id.charAt(start - 1))) {
+      start--;
+    }
+    if (start == id.length()) {
+      return;
+    }
+    try {
+      long stamp = Long.parseLong(id, start, id.length(), 10) >>> NODE_BITS;
+      lastStamp.accumulateAndGet(stamp, Math::max);
+    } catch (NumberFormatException e) {
+      // too large to be one of ours
+    }
+  }
+
+  /**
+   * Overrides the node number, for tests and embedded servers
+   *
+   * @param id node number between 0 and MAX_NODE_ID
+   * @throws IllegalArgumentException if id is out of range
+   */
+  public static void setNodeId(int id) {
+    if (id < 0 || id > MAX_NODE_ID) {
+      throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+    }
+    nodeId = id;
+  }
+
+  private static int nodeId() {
+    int id = nodeId;
+    if (id < 0) {
+      id = Math.max(0, Math.min(MAX_NODE_ID, ServerConfig.getNodeId()));
+      nodeId = id;
+    }
+    return id;
+  }
+}
@@ -0,0 +1,413 @@
+package com.project.golf.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * RecordReader.java
+ *
+ * <p>Streaming reader for the comma-separated data files (users.txt, reservations.txt,
+ * teetimes.txt and the reservation archive), shared by Database, UserManager and the fromFileString
+ * parsers. Fields are read straight out of the reader's buffer: numbers and flags are parsed in
+ * place and only text fields become Strings. A line that cannot be decoded raises a
+ * MalformedRecordException naming its line number, which forEach reports before moving on to the
+ * next line.
+ *
+ * <p>Data structures: a char buffer refilled from the underlying Reader (grown only for a line
+ * longer than the buffer) and an int array of field end offsets for the current line. Algorithm:
+ * next() scans the buffer once for the line terminator ("\n", "\r" or "\r\n") and records each
+ * comma on the way, so field i is the range between two offsets. Trailing empty fields are
+ * dropped, as String.split does, so field counts match the old parsers. Decimals with up to 15
+ * significant digits and no exponent are parsed exactly by one long division by a power of ten;
+ * anything else falls back to Double.parseDouble.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+public final class RecordReader implements Closeable {
+
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+  };
+  private static final int MAX_EXACT_DIGITS = 15; // any such mantissa is below 2^53
+
+  private final Reader in;
+  private char[] buf = new char[8192];
+  private int pos; // first unread char
+  private int limit; // end of the chars read so far
+  private boolean eof;
+  private boolean skipLf; // the last line ended with '\r', so a leading '\n' belongs to it
+  private int start; // current line is buf[start, end)
+  private int end;
+  private int[] fieldEnds = new int[16]; // offset of the comma (or line end) after each field
+  private int fields; // number of fields on the current line
+  private int lineNumber; // 1-based number of the current line
+
+  /** Thrown when a line's fields cannot be decoded */
+  public static final class MalformedRecordException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor for MalformedRecordException
+     *
+     * @param message what is wrong, prefixed with the line number
+     */
+    public MalformedRecordException(String message) {
+      super(message);
+    }
+  }
+
+  /**
+   * Constructor for RecordReader
+   *
+   * @param in source of the records, read in blocks and closed by close()
+   */
+  public RecordReader(Reader in) {
+    this.in = in;
+  }
+
+  /**
+   * Creates a reader over a single record held in a String
+   *
+   * @param line the record
+   * @return a reader positioned before the record
+   */
+  public static RecordReader of(String line) {
+    return new RecordReader(new StringReader(line));
+  }
+
+  /**
+   * Decodes every record of a file in order, reporting and skipping malformed lines
+   *
+   * @param file the data file; a missing file has no records
+   * @param decoder turns the current record into a value, or null to skip it silently
+   * @param sink receives each decoded value
+   * @param <T> type of the decoded records
+   * @throws IOException if the file cannot be read
+   */
+  public static <T> void forEach(
+      File file, Function<RecordReader, T> decoder, Consumer<? super T> sink) throws IOException {
+    if (!file.exists()) {
+      return;
+    }
+    forEach(file.getName(), new FileReader(file), decoder, sink);
+  }
+
+  /**
+   * Decodes every record of a stream in order, reporting and skipping malformed lines
+   *
+   * @param name what to call the source in reports of malformed lines
+   * @param in source of the records, closed once they are read
+   * @param decoder turns the current record into a value, or null to skip it silently
+   * @param sink receives each decoded value
+   * @param <T> type of the decoded records
+   * @throws IOException if the stream cannot be read
+   */
+  public static <T> void forEach(
+      String name, Reader in, Function<RecordReader, T> decoder, Consumer<? super T> sink)
+      throws IOException {
+    try (RecordReader records = new RecordReader(in)) {
+      while (records.next()) {
+        try {
+          T value = decoder.apply(records);
+          if (value != null) {
+            sink.accept(value);
+          }
+        } catch (MalformedRecordException e) {
+          System.err.println("Skipping " + name + " " + e.getMessage());
+        }
+      }
+    }
+  }
+
+  /**
+   * Advances to the next line that is not blank
+   *
+   * @return false once the input is exhausted
+   * @throws IOException if the underlying reader fails
+   */
+  public boolean next() throws IOException {
+    while (readLine()) {
+      if (!isBlank()) {
+        splitFields();
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the number of the current line, counting blank lines
+   *
+   * @return 1-based line number
+   */
+  public int lineNumber() {
+    return lineNumber;
+  }
+
+  /**
+   * Gets the number of fields on the current line
+   *
+   * @return field count, not counting trailing empty fields
+   */
+  public int fieldCount() {
+    return fields;
+  }
+
+  /**
+   * Copies out a text field
+   *
+   * @param i field index
+   * @return the field's text
+   * @throws MalformedRecordException if the line has no such field
+   */
+  public String text(int i) {
+    int from = fieldStart(i);
+    return new String(buf, from, fieldEnds[i] - from);
+  }
+
+  /**
+   * Compares a field with a constant without copying it
+   *
+   * @param i field index
+   * @param expected text to compare with
+   * @return true if the field exists and equals expected
+   */
+  public boolean fieldEquals(int i, String expected) {
+    if (i >= fields) {
+      return false;
+    }
+    int from = fieldStart(i);
+    if (fieldEnds[i] - from != expected.length()) {
+      return false;
+    }
+    for (int k = 0; k < expected.length(); k++) {
+      if (buf[from + k] != expected.charAt(k)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parses an int field in place, accepting what Integer.parseInt accepts
+   *
+   * @param i field index
+   * @return the value
+   * @throws MalformedRecordException if the field is missing or not a valid int
+   */
+  public int intField(int i) {
+    int from = fieldStart(i);
+    int to = fieldEnds[i];
+    boolean negative = from < to && buf[from] == '-';
+    if (from < to && (buf[from] == '-' || buf[from] == '+')) {
+      from++;
+    }
+    if (from == to) {
+      throw malformed("field " + i + " is not a number");
+    }
+    long value = 0;
+    for (int k = from; k < to; k++) {
+      char c = buf[k];
+      if (c < '0' || c > '9') {
+        throw malformed("field " + i + " is not a number");
+      }
+      value = value * 10 + (c - '0');
+      if (value > (long) Integer.MAX_VALUE + 1) {
+        throw malformed("field " + i + " is out of range");
+      }
+    }
+    value = negative ? -value : value;
+    if (value > Integer.MAX_VALUE) {
+      throw malformed("field " + i + " is out of range");
+    }
+    return (int) value;
+  }
+
+  /**
+   * Parses a double field, in place for plain decimals such as prices
+   *
+   * @param i field index
+   * @return the value
+   * @throws MalformedRecordException if the field is missing or not a valid double
+   */
+  public double doubleField(int i) {
+    int from = fieldStart(i);
+    int to = fieldEnds[i];
+    int k = from;
+    boolean negative = k < to && buf[k] == '-';
+    if (k < to && (buf[k] == '-' || buf[k] == '+')) {
+      k++;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int decimals = -1; // digits after the point, -1 before one is seen
+    for (; k < to; k++) {
+      char c = buf[k];
+      if (c >= '0' && c <= '9') {
+        if (++digits <= MAX_EXACT_DIGITS) {
+          mantissa = mantissa * 10 + (c - '0');
+        }
+        if (decimals >= 0) {
+          decimals++;
+        }
+      } else if (c == '.' && decimals < 0) {
+        decimals = 0;
+      } else {
+        break;
+      }
+    }
+    if (k == to && digits > 0 && digits <= MAX_EXACT_DIGITS) {
+      double value = decimals > 0 ? mantissa / POWERS_OF_TEN[decimals] : mantissa;
+      return negative ? -value : value;
+    }
+    try {
+      return Double.parseDouble(new String(buf, from, to - from));
+    } catch (NumberFormatException e) {
+      throw malformed("field " + i + " is not a number");
+    }
+  }
+
+  /**
+   * Parses a boolean field in place the way Boolean.parseBoolean does: "true" in any case is true
+   * and anything else is false
+   *
+   * @param i field index
+   * @return the value
+   * @throws MalformedRecordException if the line has no such field
+   */
+  public boolean booleanField(int i) {
+    int from = fieldStart(i);
+    if (fieldEnds[i] - from != 4) {
+      return false;
+    }
+    String expected = "true";
+    for (int k = 0; k < 4; k++) {
+      if (Character.toLowerCase(buf[from + k]) != expected.charAt(k)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Builds the exception for a malformed current line
+   *
+   * @param reason what is wrong with the line
+   * @return an exception whose message names the line number
+   */
+  public MalformedRecordException malformed(String reason) {
+    return new MalformedRecordException("line " + lineNumber + ": " + reason);
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  /** Finds the next line terminator, refilling the buffer as needed */
+  private boolean readLine() throws IOException {
+    if (skipLf) {
+      skipLf = false;
+      if ((pos < limit || fill()) && buf[pos] == '\n') {
+        pos++;
+      }
+    }
+    int scan = pos;
+    while (true) {
+      for (; scan < limit; scan++) {
+        char c = buf[scan];
+        if (c == '\n' || c == '\r') {
+          start = pos;
+          end = scan;
+          pos = scan + 1;
+          skipLf = c == '\r';
+          lineNumber++;
+          return true;
+        }
+      }
+      int scanned = scan - pos;
+      if (!fill()) {
+        if (pos == limit) {
+          return false;
+        }
+        start = pos; // last line has no terminator
+        end = limit;
+        pos = limit;
+        lineNumber++;
+        return true;
+      }
+      scan = pos + scanned;
+    }
+  }
+
+  /**
+   * Moves the unread chars to the front of the buffer and reads more after them
+   *
+   * @return false if the reader is exhausted
+   */
+  private boolean fill() throws IOException {
+    if (eof) {
+      return false;
+    }
+    if (pos > 0) {
+      System.arraycopy(buf, pos, buf, 0, limit - pos);
+      limit -= pos;
+      pos = 0;
+    }
+    if (limit == buf.length) {
+      buf = Arrays.copyOf(buf, buf.length * 2); // one line fills the buffer
+    }
+    int n = in.read(buf, limit, buf.length - limit);
+    if (n < 0) {
+      eof = true;
+      return false;
+    }
+    limit += n;
+    return true;
+  }
+
+  private boolean isBlank() {
+    for (int k = start; k < end; k++) {
+      if (buf[k] > ' ') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void splitFields() {
+    fields = 0;
+    for (int k = start; k < end; k++) {
+      if (buf[k] == ',') {
+        addField(k);
+      }
+    }
+    addField(end);
+    while (fields > 0 && fieldEnds[fields - 1] == fieldStart(fields - 1)) {
+      fields--;
+    }
+  }
+
+  private void addField(int fieldEnd) {
+    if (fields == fieldEnds.length) {
+      fieldEnds = Arrays.copyOf(fieldEnds, fields * 2);
+    }
+    fieldEnds[fields++] = fieldEnd;
+  }
+
+  private int fieldStart(int i) {
+    if (i < 0 || i >= fields) {
+      throw malformed("missing field " + i);
+    }
+    return i == 0 ? start : fieldEnds[i - 1] + 1;
+  }
+}
@@ -7,7 +7,7 @@ import java.util.Properties;
  * ServerConfig.java
  *
  * <p>Utility class for loading server configuration from properties file. Allows dynamic server
- * IP/host configuration without hardcoding.
+ * IP/host configuration without hardcoding, plus optional database persistence settings.
  *
  * @author GitHub Copilot Agent
  * @version December 12, 2025
@@ -70,6 +70,188 @@ public class ServerConfig {
     }
   }
 
+  /**
+   * Whether the database should persist through an append-only journal instead of rewriting every
+   * data file on each save
+   *
+   * @return value of database.journal (defaults to false)
+   */
+  public static boolean isJournalEnabled() {
+    loadConfig();
+    return Boolean.parseBoolean(properties.getProperty("database.journal", "false").trim());
+  }
+
+  /**
+   * Which snapshot format the database writes: "text" for the comma-separated data files or
+   * "binary" for a single memory-mapped snapshot.bin
+   *
+   * @return value of database.snapshotFormat, lower-cased (defaults to "text")
+   */
+  public static String getSnapshotFormat() {
+    loadConfig();
+    return properties.getProperty("database.snapshotFormat", "text").trim().toLowerCase();
+  }
+
+  /**
+   * How long the database's background writer waits after the first save request so concurrent
+   * saves can share one flush and fsync
+   *
+   * @return value of database.commitIntervalMs in milliseconds (defaults to 5, never negative)
+   */
+  public static long getCommitIntervalMillis() {
+    loadConfig();
+    String value = properties.getProperty("database.commitIntervalMs", "5").trim();
+    try {
+      return Math.max(0, Long.parseLong(value));
+    } catch (NumberFormatException e) {
+      System.err.println("Invalid commit interval in configuration: " + value);
+      return 5;
+    }
+  }
+
+  /**
+   * How often the database's background compactor checks whether the journal needs folding into a
+   * snapshot
+   *
+   * @return value of database.compactIntervalSeconds (defaults to 30, at least 1)
+   */
+  public static long getCompactIntervalSeconds() {
+    loadConfig();
+    String value = properties.getProperty("database.compactIntervalSeconds", "30").trim();
+    try {
+      return Math.max(1, Long.parseLong(value));
+    } catch (NumberFormatException e) {
+      System.err.println("Invalid compaction interval in configuration: " + value);
+      return 30;
+    }
+  }
+
+  /**
+   * Journal size at which the background compactor writes a snapshot and drops the replayed
+   * records
+   *
+   * @return value of database.compactBytes (defaults to 1 MiB, never negative)
+   */
+  public static long getCompactThresholdBytes() {
+    loadConfig();
+    String value = properties.getProperty("database.compactBytes", "1048576").trim();
+    try {
+      return Math.max(0, Long.parseLong(value));
+    } catch (NumberFormatException e) {
+      System.err.println("Invalid compaction threshold in configuration: " + value);
+      return 1048576;
+    }
+  }
+
+  /**
+   * How many days after their date reservations stay in reservations.txt before the database moves
+   * them into the per-month archive, at startup and then every archiveIntervalHours
+   *
+   * @return value of database.archiveAfterDays (defaults to -1, meaning never archive)
+   */
+  public static int getArchiveAfterDays() {
+    loadConfig();
+    String value = properties.getProperty("database.archiveAfterDays", "-1").trim();
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      System.err.println("Invalid archive age in configuration: " + value);
+      return -1;
+    }
+  }
+
+  /**
+   * Number of this server among servers sharing the same data files, mixed into every generated ID
+   *
+   * @return value of server.nodeId (defaults to 0)
+   */
+  public static int getNodeId() {
+    loadConfig();
+    String value = properties.getProperty("server.nodeId", "0").trim();
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      System.err.println("Invalid node id in configuration: " + value);
+      return 0;
+    }
+  }
+
+  /**
+   * How often the database's background archiver moves reservations older than archiveAfterDays
+   * into the archive, when archiving is on
+   *
+   * @return value of database.archiveIntervalHours (defaults to 24, at least 1)
+   */
+  public static long getArchiveIntervalHours() {
+    loadConfig();
+    String value = properties.getProperty("database.archiveIntervalHours", "24").trim();
+    try {
+      return Math.max(1, Long.parseLong(value));
+    } catch (NumberFormatException e) {
+      System.err.println("Invalid archive interval in configuration: " + value);
+      return 24;
+    }
+  }
+
+  /**
+   * How the server handles connections: "threads" for one thread per client or "nio" for a few
+   * selector threads sharing every connection with a fixed pool answering commands
+   *
+   * @return value of server.mode, lower-cased (defaults to "threads")
+   */
+  public static String getServerMode() {
+    loadConfig();
+    return properties.getProperty("server.mode", "threads").trim().toLowerCase();
+  }
+
+  /**
+   * Number of selector threads reading and writing client connections in nio mode
+   *
+   * @return value of server.selectorThreads (defaults to 2, at least 1)
+   */
+  public static int getSelectorThreads() {
+    return getPositiveInt("server.selectorThreads", 2, "selector thread count");
+  }
+
+  /**
+   * Number of threads answering client commands in nio mode
+   *
+   * @return value of server.workerThreads (defaults to the number of processors, at least 1)
+   */
+  public static int getWorkerThreads() {
+    return getPositiveInt(
+        "server.workerThreads", Runtime.getRuntime().availableProcessors(), "worker thread count");
+  }
+
+  /**
+   * Number of commands that may wait for a worker thread in nio mode before clients are told the
+   * server is busy
+   *
+   * @return value of server.workerQueue (defaults to 1024, at least 1)
+   */
+  public static int getWorkerQueueSize() {
+    return getPositiveInt("server.workerQueue", 1024, "worker queue size");
+  }
+
+  /**
+   * Reads a positive integer property
+   *
+   * @param key property name
+   * @param fallback value when the property is missing or not a number
+   * @param description what the property is, for the error message
+   * @return the value, at least 1
+   */
+  private static int getPositiveInt(String key, int fallback, String description) {
+    loadConfig();
+    String value = properties.getProperty(key, String.valueOf(fallback)).trim();
+    try {
+      return Math.max(1, Integer.parseInt(value));
+    } catch (NumberFormatException e) {
+      System.err.println("Invalid " + description + " in configuration: " + value);
+      return Math.max(1, fallback);
+    }
+  }
+
   /** Reload configuration from file Useful if the configuration file has been updated */
   public static void reloadConfig() {
     properties = null;
@@ -84,7 +266,7 @@ public class ServerConfig {
    * @throws IOException if unable to save configuration
    */
   public static void saveConfig(String host, int port) throws IOException {
-    properties = new Properties();
+    loadConfig(); // keep any other settings already in the file
     properties.setProperty("server.host", host);
     properties.setProperty("server.port", String.valueOf(port));
 
@@ -0,0 +1,148 @@
+package com.project.golf.utils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * TimeUtil.java
+ *
+ * <p>Utility class for turning the system's date and time strings into exact numeric keys. Dates
+ * are "YYYY-MM-DD"; times are either 24-hour "HH:MM" or 12-hour "H:MM AM/PM". Parsing scans the
+ * characters directly and never throws, so callers can compute keys once when a reservation is
+ * built and compare plain longs afterwards.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+public class TimeUtil {
+
+  /** Key returned when a date or time cannot be parsed (matches the old parser's fallback) */
+  public static final long UNPARSEABLE = 0;
+
+  public static final int MINUTES_PER_DAY = 1440;
+
+  /**
+   * Convert a date and time to minutes since 1970-01-01 00:00
+   *
+   * @param date date in YYYY-MM-DD format
+   * @param time time in HH:MM or H:MM AM/PM format
+   * @return exact epoch minute, or UNPARSEABLE if either part is malformed
+   */
+  public static long toEpochMinutes(String date, String time) {
+    long day = toEpochDay(date);
+    int minute = toMinuteOfDay(time);
+    if (day == Long.MIN_VALUE || minute < 0) {
+      return UNPARSEABLE;
+    }
+    return day * MINUTES_PER_DAY + minute;
+  }
+
+  /**
+   * Get the current local date and time on the same scale as toEpochMinutes
+   *
+   * @return epoch minute of the present moment
+   */
+  public static long currentEpochMinute() {
+    LocalDateTime now = LocalDateTime.now();
+    return now.toLocalDate().toEpochDay() * MINUTES_PER_DAY + now.getHour() * 60 + now.getMinute();
+  }
+
+  /**
+   * Convert a YYYY-MM-DD date to days since 1970-01-01
+   *
+   * @param date the date string
+   * @return epoch day, or Long.MIN_VALUE if the date is malformed or does not exist
+   */
+  public static long toEpochDay(String date) {
+    if (date == null || date.length() != 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+      return Long.MIN_VALUE;
+    }
+    int year = digits(date, 0, 4);
+    int month = digits(date, 5, 7);
+    int day = digits(date, 8, 10);
+    if (year < 0 || month < 1 || month > 12 || day < 1) {
+      return Long.MIN_VALUE;
+    }
+    if (day > YearMonth.of(year, month).lengthOfMonth()) {
+      return Long.MIN_VALUE;
+    }
+    return LocalDate.of(year, month, day).toEpochDay();
+  }
+
+  /**
+   * Convert a time string to minutes after midnight
+   *
+   * @param time "HH:MM", "H:MM", "H:MM AM" or "H:MM PM" (surrounding spaces allowed)
+   * @return minute of day (0-1439), or -1 if the time is malformed
+   */
+  public static int toMinuteOfDay(String time) {
+    if (time == null) {
+      return -1;
+    }
+    int end = time.length();
+    int pos = 0;
+    while (pos < end && time.charAt(pos) == ' ') {
+      pos++;
+    }
+    while (end > pos && time.charAt(end - 1) == ' ') {
+      end--;
+    }
+
+    // Optional AM/PM suffix
+    int meridiem = 0; // 0 = 24-hour, 1 = AM, 2 = PM
+    if (end - pos >= 2) {
+      char m = Character.toUpperCase(time.charAt(end - 2));
+      char last = Character.toUpperCase(time.charAt(end - 1));
+      if (last == 'M' && (m == 'A' || m == 'P')) {
+        meridiem = m == 'A' ? 1 : 2;
+        end -= 2;
+        while (end > pos && time.charAt(end - 1) == ' ') {
+          end--;
+        }
+      }
+    }
+
+    int colon = time.indexOf(':', pos);
+    if (colon < 0 || colon >= end || colon - pos < 1 || colon - pos > 2 || end - colon != 3) {
+      return -1;
+    }
+    int hour = digits(time, pos, colon);
+    int minute = digits(time, colon + 1, end);
+    if (hour < 0 || minute < 0 || minute > 59) {
+      return -1;
+    }
+
+    if (meridiem == 0) {
+      return hour < 24 ? hour * 60 + minute : -1;
+    }
+    if (hour < 1 || hour > 12) {
+      return -1;
+    }
+    hour %= 12; // 12 AM is midnight, 12 PM is noon
+    if (meridiem == 2) {
+      hour += 12;
+    }
+    return hour * 60 + minute;
+  }
+
+  /**
+   * Parse a run of ASCII digits without allocating
+   *
+   * @param s source string
+   * @param from first index (inclusive)
+   * @param to last index (exclusive)
+   * @return the value, or -1 if any character is not a digit
+   */
+  private static int digits(String s, int from, int to) {
+    int value = 0;
+    for (int i = from; i < to; i++) {
+      char c = s.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+}
@@ -3,10 +3,16 @@ package com.project.golf.tests;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.project.golf.database.*;
+import com.project.golf.events.*;
 import com.project.golf.reservation.*;
+import com.project.golf.settings.*;
 import com.project.golf.users.*;
 import java.io.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.*;
 
 /**
@@ -30,6 +36,8 @@ public class DatabaseTest {
   private static final String TEST_RESERVATIONS_FILE = "reservations.txt";
   private static final String TEST_EVENTS_FILE = "events.txt";
   private static final String TEST_TEETIMES_FILE = "teetimes.txt";
+  private static final String TEST_JOURNAL_FILE = "journal.txt";
+  private static final String TEST_SNAPSHOT_FILE = "snapshot.bin";
 
   // Set up a fresh database before each test
 
@@ -62,6 +70,15 @@ public class DatabaseTest {
     new File(TEST_RESERVATIONS_FILE).delete();
     new File(TEST_EVENTS_FILE).delete();
     new File(TEST_TEETIMES_FILE).delete();
+    new File(TEST_JOURNAL_FILE).delete();
+    new File(TEST_SNAPSHOT_FILE).delete();
+    File[] archived = new File("archive").listFiles();
+    if (archived != null) {
+      for (File file : archived) {
+        file.delete();
+      }
+    }
+    new File("archive").delete();
   }
 
   // SINGLETON PATTERN --------------------------------------------------
@@ -189,6 +206,33 @@ public class DatabaseTest {
     assertFalse(database.validateLogin(null, null), "Should reject both null");
   }
 
+  @Test
+  public void testFindUserByEmailIgnoresCase() {
+    User user = new User("john123", "password", "John", "Doe", "John@Email.com", false);
+    database.addUser(user);
+
+    assertSame(user, database.findUserByEmail("john@email.com"), "Should match any case");
+    User other = new User("john456", "password", "John", "Roe", "JOHN@EMAIL.COM", false);
+    assertFalse(database.addUser(other), "Should reject email that differs only by case");
+  }
+
+  @Test
+  public void testUpdateUserKeepsIndexesInSync() {
+    User user = new User("john123", "password", "John", "Doe", "john@email.com", false);
+    database.addUser(user);
+
+    assertTrue(
+        database.updateUser("john123", "johnny", "password", "John", "Doe", "johnny@email.com"));
+
+    assertNull(database.findUser("john123"), "Old username should no longer resolve");
+    assertSame(user, database.findUser("johnny"), "New username should resolve");
+    assertNull(database.findUserByEmail("john@email.com"), "Old email should no longer resolve");
+    assertSame(user, database.findUserByEmail("johnny@email.com"), "New email should resolve");
+
+    assertTrue(database.removeUser("johnny"));
+    assertNull(database.findUserByEmail("johnny@email.com"), "Removed user leaves no email entry");
+  }
+
   // RESERVATION MANAGEMENT --------------------------------------------------
 
   @Test
@@ -260,6 +304,120 @@ public class DatabaseTest {
     assertEquals(1, janeRes.size(), "Should return all reservations for jane456");
   }
 
+  @Test
+  public void testReservationsByUserSplitIntoUpcomingAndPast() {
+    database.addReservation(
+        new Reservations("R1", "john123", "2099-06-02", "09:00", 4, "Hole 1", 120.0));
+    database.addReservation(
+        new Reservations("R2", "john123", "2020-03-10", "10:00", 2, "Hole 2", 60.0));
+    database.addReservation(
+        new Reservations("R3", "john123", "2099-06-01", "11:00", 3, "Hole 3", 90.0));
+    database.addReservation(
+        new Reservations("R4", "jane456", "2099-06-01", "08:00", 1, "Hole 4", 30.0));
+
+    ArrayList<String> all = new ArrayList<>();
+    database.getReservationsByUser("john123").forEach(r -> all.add(r.getReservationId()));
+    assertEquals(List.of("R2", "R3", "R1"), all, "Reservations should be in start order");
+
+    ArrayList<Reservations> upcoming = database.getUpcomingReservationsByUser("john123");
+    assertEquals(2, upcoming.size(), "Only the 2099 bookings are upcoming");
+    assertEquals("R3", upcoming.get(0).getReservationId(), "Earliest upcoming comes first");
+    ArrayList<Reservations> past = database.getPastReservationsByUser("john123");
+    assertEquals(1, past.size(), "Only the 2020 booking is past");
+    assertEquals("R2", past.get(0).getReservationId());
+
+    database.removeReservation("R3");
+    assertEquals(1, database.getUpcomingReservationsByUser("john123").size());
+    assertTrue(database.getUpcomingReservationsByUser("nobody").isEmpty());
+  }
+
+  @Test
+  public void testArchivedReservationsLoadOnDemand() throws IOException {
+    database.addReservation(
+        new Reservations("R1", "john123", "2020-03-10", "09:00", 4, "Hole 1", 120.0));
+    database.addReservation(
+        new Reservations("R2", "john123", "2020-04-02", "10:00", 2, "Hole 2", 60.0));
+    database.addReservation(
+        new Reservations("R3", "john123", "2099-06-01", "11:00", 3, "Hole 3", 90.0));
+
+    assertEquals(2, database.archiveReservationsBefore("2021-01-01"));
+    assertEquals(1, database.getAllReservations().size(), "Only R3 should stay in memory");
+    assertNull(database.findReservation("R1"), "Archived reservations leave memory");
+    assertEquals(List.of("2020-03", "2020-04"), database.getArchivedMonths());
+
+    // History and date reports read the archived months back
+    assertEquals(1, database.getReservationsByDate("2020-03-10").size());
+    assertEquals(2, database.getPastReservationsByUser("john123").size());
+    assertEquals("R2", database.getArchivedReservations("2020-04").get(0).getReservationId());
+    ArrayList<String> all = new ArrayList<>();
+    database.getReservationsByUser("john123").forEach(r -> all.add(r.getReservationId()));
+    assertEquals(List.of("R1", "R2", "R3"), all, "All reservations include archived months");
+
+    // reservations.txt no longer holds them
+    database.loadFromFile();
+    assertEquals(1, database.getAllReservations().size());
+    assertEquals(0, database.archiveReservationsBefore("2021-01-01"), "Nothing left to archive");
+
+    database.clearAllData();
+    assertTrue(database.getArchivedMonths().isEmpty(), "Clearing forgets the archive");
+    assertTrue(new File("archive/reservations-2020-03.txt.gz").exists(), "but keeps its files");
+    Database.resetInstance();
+    database = Database.getInstance();
+    assertEquals(2, database.getPastReservationsByUser("john123").size(), "History survives");
+
+    database.deleteArchive();
+    assertTrue(database.getArchivedMonths().isEmpty());
+    assertFalse(new File("archive").exists(), "Only deleteArchive removes the files");
+  }
+
+  @Test
+  public void testArchivedHistoryIndexFollowsLaterArchiving() throws IOException {
+    database.addReservation(
+        new Reservations("R1", "john123", "2020-03-10", "09:00", 4, "Hole 1", 120.0));
+    database.addReservation(
+        new Reservations("R2", "jane456", "2020-04-02", "10:00", 2, "Hole 2", 60.0));
+    assertEquals(2, database.archiveReservationsBefore("2021-01-01"));
+    assertEquals(1, database.getPastReservationsByUser("john123").size(), "Builds the index");
+    assertEquals(1, database.getPastReservationsByUser("jane456").size());
+    assertTrue(database.getPastReservationsByUser("nobody").isEmpty());
+
+    database.addReservation(
+        new Reservations("R3", "john123", "2020-05-01", "08:00", 1, "Hole 1", 30.0));
+    assertEquals(1, database.archiveReservationsBefore("2021-01-01"));
+    List<Reservations> history = database.getPastReservationsByUser("john123");
+    assertEquals(2, history.size(), "Months archived later are indexed as they are written");
+    assertEquals("R3", history.get(1).getReservationId());
+  }
+
+  @Test
+  public void testArchiveIsCompressedAndReadsPlainMonths() throws IOException {
+    // A month archived before compression, in the plain reservations.txt format
+    new File("archive").mkdirs();
+    try (PrintWriter pw = new PrintWriter(new FileWriter("archive/reservations-2020-03.txt"))) {
+      pw.println(
+          new Reservations("R1", "john123", "2020-03-10", "09:00", 4, "Hole 1", 120.0)
+              .toFileString());
+    }
+    Database.resetInstance();
+    database = Database.getInstance();
+    assertEquals(List.of("2020-03"), database.getArchivedMonths());
+    assertEquals(1, database.getPastReservationsByUser("john123").size());
+
+    database.addReservation(
+        new Reservations("R2", "john123", "2020-03-20", "10:00", 2, "Hole 2", 60.0));
+    assertEquals(1, database.archiveReservationsBefore("2021-01-01"));
+
+    File compressed = new File("archive/reservations-2020-03.txt.gz");
+    assertTrue(compressed.exists(), "Archived months should be GZIP files");
+    assertFalse(new File("archive/reservations-2020-03.txt").exists(), "Plain file is folded in");
+    try (BufferedReader br =
+        new BufferedReader(
+            new InputStreamReader(new GZIPInputStream(new FileInputStream(compressed))))) {
+      assertEquals(2, br.lines().count());
+    }
+    assertEquals(2, database.getArchivedReservations("2020-03").size());
+  }
+
   @Test
   public void testGetReservationsByDate() {
     Reservations res1 =
@@ -291,6 +449,65 @@ public class DatabaseTest {
     assertEquals(2, all.size(), "Should return all reservations");
   }
 
+  @Test
+  public void testReservationSnapshotIsSharedUntilNextChange() {
+    database.addReservation(
+        new Reservations("R1", "john123", "2025-11-15", "09:00", 4, "Hole 1", 120.0));
+
+    List<Reservations> first = database.getReservationSnapshot();
+    assertSame(first, database.getReservationSnapshot(), "Unchanged data should share a snapshot");
+    assertThrows(UnsupportedOperationException.class, () -> first.remove(0));
+
+    database.addReservation(
+        new Reservations("R2", "jane456", "2025-11-16", "10:00", 2, "Hole 2", 60.0));
+    List<Reservations> second = database.getReservationSnapshot();
+    assertEquals(1, first.size(), "An older snapshot should not see later changes");
+    assertEquals(2, second.size(), "A change should publish a new snapshot");
+
+    database.removeReservation("R1");
+    assertEquals(1, database.getReservationSnapshot().size(), "Removal should republish");
+  }
+
+  // CONFLICT DETECTION --------------------------------------------------
+
+  @Test
+  public void testReservationConflictIsPerTeeBox() {
+    database.addReservation(
+        new Reservations("R1", "john123", "2025-11-15", "09:00", 4, "Hole 1", 120.0));
+
+    assertTrue(database.hasReservationConflict("2025-11-15", "10:30", "Hole 1", null));
+    assertFalse(database.hasReservationConflict("2025-11-15", "11:00", "Hole 1", null));
+    assertFalse(database.hasReservationConflict("2025-11-15", "09:00", "Hole 2", null));
+    assertFalse(
+        database.hasReservationConflict("2025-11-15", "09:00", "Hole 1", "R1"),
+        "Reservation being edited should not conflict with itself");
+
+    database.removeReservation("R1");
+    assertFalse(database.hasReservationConflict("2025-11-15", "09:00", "Hole 1", null));
+  }
+
+  @Test
+  public void testApprovedEventBlocksWholeCourse() {
+    Event event =
+        new Event("E1", "Club Open", "2025-11-15", "08:00", 200, "All", 0.0, "2025-11-16", "12:00");
+    database.addPendingEvent(event);
+
+    assertFalse(
+        database.hasReservationConflict("2025-11-16", "09:00", "Hole 7", null),
+        "Pending events should not block bookings");
+    assertTrue(database.hasEventConflict("2025-11-16", "09:00"), "Pending events still count");
+
+    database.addReservation(
+        new Reservations("R1", "john123", "2025-11-16", "09:00", 4, "Hole 7", 120.0));
+    ArrayList<Reservations> removed = database.approvePendingEvent("E1");
+
+    assertEquals(1, removed.size(), "Overlapping reservation should be removed on approval");
+    assertNull(database.findReservation("R1"));
+    assertTrue(database.hasReservationConflict("2025-11-16", "09:00", "Hole 7", null));
+    assertTrue(database.hasReservationConflict("2025-11-15", "23:30", "Hole 3", null));
+    assertFalse(database.hasReservationConflict("2025-11-16", "12:00", "Hole 7", null));
+  }
+
   // TEE-TIME MANAGEMENT --------------------------------------------------
 
   @Test
@@ -303,6 +520,126 @@ public class DatabaseTest {
     assertEquals("2025-11-15", found.getDate());
   }
 
+  @Test
+  public void testTeeSheetMaterializesSlotsOnFirstBooking() {
+    CourseSettings settings =
+        new CourseSettings("Test Course", "08:00", "09:00", 40.0, 30, 4, 2, 7);
+    database.setCourseSettings(settings);
+    String date = LocalDate.now().plusDays(1).toString();
+    database.addTeeTime(new TeeTime("TT1", date, "08:30", "Hole 2", 2, 55.0));
+
+    ArrayList<TeeTime> sheet = database.getTeeSheet(date);
+    assertEquals(4, sheet.size(), "2 times x 2 holes, one of them already stored");
+    assertEquals("Hole 1", sheet.get(0).getTeeBox());
+    assertEquals("TT1", sheet.get(3).getTeeTimeId(), "Stored rows replace their virtual slot");
+    assertEquals(1, database.getAllTeeTimes().size(), "Virtual slots are not stored");
+
+    String slotId = sheet.get(0).getTeeTimeId();
+    TeeTime slot = database.resolveTeeTime(slotId);
+    assertNotNull(slot, "A listed slot can be resolved from its ID");
+    assertNull(database.findTeeTime(slotId));
+    TeeTime stored = database.materializeTeeTime(slot);
+    assertSame(stored, database.findTeeTime(slotId), "Booking stores the slot");
+    assertSame(stored, database.materializeTeeTime(database.resolveTeeTime(slotId)));
+    assertEquals(40.0, stored.getPricePerPerson(), 0.001);
+
+    assertNull(database.resolveTeeTime(TeeSheet.slotId(date, "08:15", 1)), "Off the interval");
+    assertNull(database.resolveTeeTime(TeeSheet.slotId(date, "08:00", 3)), "No such hole");
+    assertNull(database.resolveTeeTime(TeeSheet.slotId("2020-01-01", "08:00", 1)), "Past date");
+    assertTrue(database.getTeeSheet(LocalDate.now().plusDays(30).toString()).isEmpty());
+
+    database.setCourseSettings(
+        new CourseSettings("Test Course", "08:00", "09:00", 40.0, 0, 4, 2, 7));
+    String emptyDate = LocalDate.now().plusDays(2).toString();
+    assertTrue(database.getTeeSheet(emptyDate).isEmpty(), "No interval means no slots, not a hang");
+    assertNull(database.resolveTeeTime(TeeSheet.slotId(emptyDate, "08:00", 1)));
+    assertNull(CourseSettings.fromFileString(settings.toFileString().replace(",30,", ",0,")));
+  }
+
+  @Test
+  public void testAvailabilityFollowsBookingsAndApprovals() {
+    database.addReservation(
+        new Reservations("R1", "john123", "2025-11-15", "10:00", 2, "Hole 7", 60.0));
+    database.addReservation(
+        new Reservations("R2", "jane456", "2025-11-15", "11:00", 2, "Hole 7", 60.0));
+
+    assertTrue(database.hasReservationConflict("2025-11-15", "10:30", "Hole 7", null));
+    assertFalse(database.hasReservationConflict("2025-11-15", "13:00", "Hole 7", null));
+    assertFalse(database.hasReservationConflict("2025-11-15", "08:00", "Hole 7", null));
+    assertTrue(database.hasReservationConflict("2025-11-15", "08:01", "Hole 7", null), "Off-slot");
+    assertFalse(database.hasReservationConflict("2025-11-15", "10:30", "Hole 8", null));
+    assertEquals(288 - 36, database.getOpenSlotCount("2025-11-15", "Hole 7"), "10:00 to 13:00");
+
+    // Cancelling one of two overlapping bookings keeps the slots they share busy
+    database.removeReservation("R1");
+    assertTrue(database.hasReservationConflict("2025-11-15", "12:30", "Hole 7", null));
+    assertFalse(database.hasReservationConflict("2025-11-15", "09:00", "Hole 7", null));
+    assertEquals(288 - 24, database.getOpenSlotCount("2025-11-15", "Hole 7"));
+
+    // A pending event blocks nothing until it is approved, then blocks every tee box
+    Event event =
+        new Event("E1", "Club Open", "2025-11-16", "08:00", 100, "All", 0.0, "2025-11-16", "12:00");
+    database.addPendingEvent(event);
+    assertFalse(database.hasReservationConflict("2025-11-16", "09:00", "Hole 3", null));
+    assertEquals(288, database.getOpenSlotCount("2025-11-16", "Hole 3"));
+    database.approvePendingEvent("E1");
+    assertTrue(database.hasReservationConflict("2025-11-16", "09:00", "Hole 3", null));
+    assertTrue(database.hasReservationConflict("2025-11-16", "06:05", "Hole 3", null));
+    assertFalse(database.hasReservationConflict("2025-11-16", "06:00", "Hole 3", null));
+    assertEquals(288 - 48, database.getOpenSlotCount("2025-11-16", "Hole 3"));
+
+    database.removeReservation("E1");
+    assertFalse(database.hasReservationConflict("2025-11-16", "09:00", "Hole 3", null));
+    assertEquals(288, database.getOpenSlotCount("2025-11-16", "Hole 3"));
+  }
+
+  @Test
+  public void testTeeSheetLeavesOutBlockedSlots() {
+    CourseSettings settings =
+        new CourseSettings("Test Course", "08:00", "09:00", 40.0, 30, 4, 2, 7);
+    database.setCourseSettings(settings);
+    String date = LocalDate.now().plusDays(1).toString();
+    database.addReservation(new Reservations("R1", "john123", date, "06:30", 2, "Hole 1", 60.0));
+
+    ArrayList<TeeTime> sheet = database.getTeeSheet(date);
+    assertEquals(3, sheet.size(), "Hole 1 at 08:00 overlaps R1, which runs until 08:30");
+    assertEquals("Hole 2", sheet.get(0).getTeeBox());
+    assertEquals("08:30", sheet.get(1).getTime());
+  }
+
+  @Test
+  public void testFindOpenTeeTimesSkipsBlockedAndFullSlots() {
+    CourseSettings settings =
+        new CourseSettings("Test Course", "08:00", "10:00", 40.0, 30, 4, 3, 7);
+    database.setCourseSettings(settings);
+    String date = LocalDate.now().plusDays(1).toString();
+    String next = LocalDate.now().plusDays(2).toString();
+    database.addReservation(new Reservations("R1", "john123", date, "07:00", 2, "Hole 2", 60.0));
+    TeeTime full = new TeeTime(TeeSheet.slotId(date, "08:00", 1), date, "08:00", "Hole 1", 4, 40.0);
+    full.bookTeeTime(3, "jane456");
+    database.addTeeTime(full);
+
+    ArrayList<TeeTime> open = database.findOpenTeeTimes(date, next, 2, null, null, null, 4);
+    assertEquals(4, open.size());
+    assertEquals("Hole 3", open.get(0).getTeeBox(), "Hole 1 is full, Hole 2 blocked until 09:00");
+    assertEquals("08:30", open.get(1).getTime());
+    assertEquals("Hole 1", open.get(1).getTeeBox());
+    assertEquals("Hole 3", open.get(2).getTeeBox());
+    assertEquals("09:00", open.get(3).getTime());
+
+    open = database.findOpenTeeTimes(date, date, 1, "08:30", "09:00", Arrays.asList(2), 10);
+    assertEquals(1, open.size(), "Only Hole 2 at 09:00 is free in the window");
+    assertNotNull(database.resolveTeeTime(open.get(0).getTeeTimeId()));
+
+    open = database.findOpenTeeTimes(date, next, 2, "09:30", null, Arrays.asList(3), 10);
+    assertEquals(2, open.size(), "Continues onto the next day");
+    assertEquals(next, open.get(1).getDate());
+
+    assertTrue(database.findOpenTeeTimes(date, next, 5, null, null, null, 10).isEmpty());
+    assertTrue(
+        database.findOpenTeeTimes("2020-01-01", "2020-02-01", 2, null, null, null, 10).isEmpty());
+  }
+
   @Test
   public void testAddNullTeeTime() {
     assertFalse(database.addTeeTime(null), "Should not add null tee time");
@@ -448,6 +785,30 @@ public class DatabaseTest {
     assertEquals("09:00", nov15.get(0).getTime());
   }
 
+  @Test
+  public void testLoadRestoresTeeTimeBookings() throws IOException {
+    TeeTime tt = new TeeTime("TT1", "2025-11-15", "09:00", "Hole 1", 4, 30.0);
+    database.addTeeTime(tt);
+    database.addTeeTime(new TeeTime("TT2", "2025-11-15", "09:00", "Hole 2", 4, 30.0));
+    assertEquals(
+        ReserveResult.RESERVED,
+        database.reserve(
+            tt, new Reservations("R1", "john123", "2025-11-15", "09:00", 3, "Hole 1", 90.0)));
+    database.addReservation(
+        new Reservations("R2", "jane456", "2025-11-15", "9:00 AM", 2, "Hole 2", 60.0));
+    database.addReservation(
+        new Reservations("R3", "jane456", "2025-11-15", "10:00", 2, "Hole 2", 60.0));
+    database.saveToFile();
+
+    Database.resetInstance();
+    Database newDb = Database.getInstance();
+
+    assertEquals(3, newDb.findTeeTime("TT1").getReservedSpots(), "Bookings survive a restart");
+    assertNotNull(newDb.findTeeTime("TT1").getReservation("R1"));
+    assertEquals(2, newDb.findTeeTime("TT2").getReservedSpots(), "Matched by minute, not text");
+    assertNull(newDb.findTeeTime("TT2").getReservation("R3"), "Other times stay off the row");
+  }
+
   @Test
   public void testClearAllData() {
     User user = new User("john123", "password", "John", "Doe", "john@email.com", false);
@@ -466,6 +827,228 @@ public class DatabaseTest {
     assertEquals(0, database.getAllTeeTimes().size(), "Should have no tee times after clear");
   }
 
+  @Test
+  public void testSaveRewritesOnlyChangedFiles() throws IOException {
+    database.addUser(new User("john123", "password", "John", "Doe", "john@email.com", false));
+    database.saveToFile();
+    long usersLength = new File(TEST_USERS_FILE).length();
+
+    // Only the reservations changed, so users.txt must be left exactly as it was
+    try (PrintWriter pw = new PrintWriter(new FileWriter(TEST_USERS_FILE, true))) {
+      pw.println("marker");
+    }
+    database.addReservation(
+        new Reservations("R1", "john123", "2025-11-15", "09:00", 4, "Hole 1", 120.0));
+    database.saveToFile();
+
+    assertTrue(new File(TEST_USERS_FILE).length() > usersLength, "users.txt should be untouched");
+    assertFalse(new File(TEST_RESERVATIONS_FILE + ".tmp").exists(), "Temp file should be renamed");
+
+    database.removeUser("john123");
+    database.saveToFile();
+    assertEquals(0, new File(TEST_USERS_FILE).length(), "Changed users.txt should be rewritten");
+  }
+
+  @Test
+  public void testReloadUsersOnlyAfterOutsideChange() throws IOException {
+    User john = new User("john123", "password", "John", "Doe", "john@email.com", false);
+    database.addUser(john);
+    database.saveToFile();
+    assertFalse(database.reloadUsersIfChanged(), "Our own save should not trigger a reload");
+
+    // Another process (e.g. UserManager) rewrites users.txt while a booking is unsaved
+    database.addReservation(
+        new Reservations("R1", "john123", "2025-11-15", "09:00", 4, "Hole 1", 120.0));
+    User jane = new User("jane456", "pass456", "Jane", "Smith", "jane@email.com", true);
+    try (PrintWriter pw = new PrintWriter(new FileWriter(TEST_USERS_FILE))) {
+      pw.println(john.toFileString());
+      pw.println(jane.toFileString());
+    }
+
+    assertTrue(database.reloadUsersIfChanged(), "Outside change should reload users");
+    assertNotNull(database.findUser("jane456"), "New user should be visible");
+    assertNotNull(database.findReservation("R1"), "Unsaved bookings should be kept");
+    assertFalse(database.reloadUsersIfChanged(), "Nothing changed since the reload");
+  }
+
+  @Test
+  public void testCheckpointKeepsOnlyLaterJournalRecords() throws IOException {
+    database.setJournalMode(true);
+    database.addReservation(
+        new Reservations("R1", "john123", "2025-11-15", "09:00", 4, "Hole 1", 120.0));
+    database.addReservation(
+        new Reservations("R2", "john123", "2025-11-16", "09:00", 2, "Hole 2", 60.0));
+    database.saveToFile();
+    database.checkpoint();
+
+    database.removeReservation("R1");
+    database.saveToFile();
+
+    try (BufferedReader br = new BufferedReader(new FileReader(TEST_JOURNAL_FILE))) {
+      assertEquals("DEL_RES|R1", br.readLine(), "Compacted records should be gone");
+      assertNull(br.readLine(), "Only the record after the checkpoint should remain");
+    }
+
+    Database.resetInstance();
+    Database newDb = Database.getInstance();
+    assertNull(newDb.findReservation("R1"));
+    assertNotNull(newDb.findReservation("R2"));
+  }
+
+  @Test
+  public void testBinarySnapshotRoundTrip() throws IOException {
+    database.setBinarySnapshots(true);
+    database.addUser(new User("jane456", "pass456", "Jane", "Smith", "jane@email.com", true, true));
+    database.addReservation(
+        new Reservations("R1", "jane456", "2025-11-15", "09:00", 3, "Hole 4", 90.125, true));
+    Event event =
+        new Event("E1", "Club Open", "2025-11-20", "08:00", 100, "All", 0.0, "2025-11-21", "17:00");
+    database.addPendingEvent(event);
+    database.addTeeTime(new TeeTime("TT9", "2025-11-15", "10:00", "Hole 2", 4, 35.5));
+    database.saveToFile();
+
+    assertTrue(new File(TEST_SNAPSHOT_FILE).exists(), "Binary mode should write snapshot.bin");
+
+    Database.resetInstance();
+    Database newDb = Database.getInstance();
+
+    User jane = newDb.findUser("jane456");
+    assertNotNull(jane);
+    assertTrue(jane.hasPaid());
+    assertTrue(jane.isAdmin());
+    Reservations r1 = newDb.findReservation("R1");
+    assertEquals(90.125, r1.getPrice(), "Binary snapshot keeps the exact price");
+    assertEquals(3, r1.getPartySize());
+    assertTrue(r1.getIsPaid());
+    Event e1 = newDb.findPendingEvent("E1");
+    assertNotNull(e1, "Pending event should come back pending");
+    assertEquals("2025-11-21", e1.getEndDate());
+    assertEquals(1, newDb.getTeeTimesByDate("2025-11-15").size());
+
+    // Export writes the text files without giving up the binary snapshot
+    newDb.exportToText();
+    try (BufferedReader br = new BufferedReader(new FileReader(TEST_USERS_FILE))) {
+      assertTrue(br.readLine().startsWith("jane456,pass456,Jane,Smith"));
+    }
+  }
+
+  @Test
+  public void testImportFromTextReplacesBinarySnapshot() throws IOException {
+    database.setBinarySnapshots(true);
+    database.addReservation(
+        new Reservations("R1", "john123", "2025-11-15", "09:00", 4, "Hole 1", 120.0));
+    database.saveToFile();
+
+    try (PrintWriter pw = new PrintWriter(new FileWriter(TEST_RESERVATIONS_FILE))) {
+      pw.println("R2,jane456,2025-11-16,10:00,2,Hole 2,60.00,false,false");
+    }
+    database.importFromText();
+
+    assertNull(database.findReservation("R1"));
+    assertNotNull(database.findReservation("R2"));
+    Database.resetInstance();
+    assertNotNull(
+        Database.getInstance().findReservation("R2"), "Imported data should be the new snapshot");
+  }
+
+  @Test
+  public void testJournalModeReplaysOnLoad() throws IOException {
+    database.setJournalMode(true);
+    database.addUser(new User("john123", "password", "John", "Doe", "john@email.com", false));
+    database.addReservation(
+        new Reservations("R1", "john123", "2025-11-15", "09:00", 4, "Hole 1", 120.0));
+    database.addReservation(
+        new Reservations("R2", "john123", "2025-11-16", "09:00", 2, "Hole 2", 60.0));
+    database.saveToFile();
+
+    database.removeReservation("R2");
+    database.updateUser("john123", "john124", "password", "John", "Doe", "john@email.com");
+    Event event =
+        new Event("E1", "Club Open", "2025-11-20", "08:00", 100, "All", 0.0, "2025-11-20", "17:00");
+    database.addPendingEvent(event);
+    database.approvePendingEvent("E1");
+    database.saveToFile();
+
+    assertTrue(new File(TEST_JOURNAL_FILE).exists(), "Saves should go to the journal");
+    assertFalse(new File(TEST_USERS_FILE).exists(), "Journal mode should not rewrite snapshots");
+
+    Database.resetInstance();
+    Database newDb = Database.getInstance();
+
+    assertNull(newDb.findUser("john123"));
+    assertNotNull(newDb.findUser("john124"), "Update should be replayed");
+    assertNotNull(newDb.findReservation("R1"));
+    assertNull(newDb.findReservation("R2"), "Removal should be replayed");
+    assertEquals(1, newDb.getAllEvents().size());
+    assertFalse(newDb.getAllEvents().get(0).isPending(), "Approval should be replayed");
+    assertTrue(newDb.hasReservationConflict("2025-11-20", "10:00", "Hole 3", null));
+
+    // A checkpoint folds the journal into the snapshot files
+    newDb.checkpoint();
+    assertEquals(0, new File(TEST_JOURNAL_FILE).length(), "Checkpoint should empty the journal");
+    Database.resetInstance();
+    assertNotNull(Database.getInstance().findUser("john124"));
+    assertNotNull(Database.getInstance().findReservation("R1"));
+  }
+
+  // BATCH MUTATIONS --------------------------------------------------
+
+  @Test
+  public void testApplyBatchReportsEachOperation() {
+    database.addReservation(
+        new Reservations("R1", "john123", "2025-11-15", "09:00", 4, "Hole 1", 120.0));
+    TeeTime teeTime = new TeeTime("TT1", "2025-11-15", "09:00", "Hole 1", 4, 30.0);
+
+    Batch batch =
+        new Batch()
+            .removeReservation("R1")
+            .addReservation(
+                new Reservations("R1", "john123", "2025-11-15", "11:00", 2, "Hole 1", 60.0))
+            .removeReservation("R404")
+            .addReservation(
+                new Reservations("R2", "jane", "2025-11-20", "09:00", 2, "Hole 2", 60.0))
+            .addTeeTime(teeTime);
+    boolean[] applied = database.apply(batch);
+
+    assertArrayEquals(new boolean[] {true, true, false, true, true}, applied);
+    assertEquals("11:00", database.findReservation("R1").getTime(), "R1 should be replaced");
+    assertFalse(database.hasReservationConflict("2025-11-15", "09:00", "Hole 1", null));
+    assertTrue(database.hasReservationConflict("2025-11-15", "11:00", "Hole 1", null));
+    assertEquals(1, database.getReservationsByUser("jane").size());
+    assertSame(teeTime, database.findTeeTime("TT1"));
+    assertEquals(0, database.apply(new Batch()).length);
+  }
+
+  @Test
+  public void testBatchIsOneJournalRecord() throws IOException {
+    database.setJournalMode(true);
+    database.addReservation(
+        new Reservations("R1", "john123", "2025-11-16", "09:00", 4, "Hole 7", 120.0));
+    database.addReservation(
+        new Reservations("R2", "jane", "2025-11-16", "10:00", 2, "Hole 3", 60.0));
+    Event event =
+        new Event("E1", "Club Open", "2025-11-16", "08:00", 100, "All", 0.0, "2025-11-16", "17:00");
+    database.addPendingEvent(event);
+    database.saveToFile();
+    long before = countLines(TEST_JOURNAL_FILE);
+
+    assertEquals(2, database.approvePendingEvent("E1").size());
+    database.saveToFile();
+    assertEquals(before + 1, countLines(TEST_JOURNAL_FILE), "Approval should be one record");
+
+    Database.resetInstance();
+    Database newDb = Database.getInstance();
+    assertNull(newDb.findReservation("R1"), "Batched removals should be replayed");
+    assertNull(newDb.findReservation("R2"));
+    assertFalse(newDb.findEvent("E1").isPending(), "Batched approval should be replayed");
+  }
+
+  private static long countLines(String path) throws IOException {
+    try (BufferedReader br = new BufferedReader(new FileReader(path))) {
+      return br.lines().count();
+    }
+  }
+
   // THREAD SAFETY --------------------------------------------------
 
   @Test
@@ -543,4 +1126,291 @@ public class DatabaseTest {
         database.getAllReservations().size(),
         "Should have added all reservations safely");
   }
+
+  @Test
+  public void testConcurrentReserveBooksSlotOnce() throws InterruptedException {
+    final int numThreads = 10;
+    Thread[] threads = new Thread[numThreads];
+    ReserveResult[] results = new ReserveResult[numThreads];
+
+    for (int i = 0; i < numThreads; i++) {
+      final int threadNum = i;
+      threads[i] =
+          new Thread(
+              () -> {
+                Reservations res =
+                    new Reservations(
+                        "R" + threadNum,
+                        "user" + threadNum,
+                        "2025-11-15",
+                        // every start overlaps the others' two hours on the same hole
+                        "09:" + (threadNum * 5 < 10 ? "0" : "") + threadNum * 5,
+                        2,
+                        "Hole 7",
+                        60.0);
+                results[threadNum] = database.reserve(res, null);
+              });
+    }
+
+    for (Thread t : threads) {
+      t.start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+
+    int reserved = 0;
+    for (ReserveResult result : results) {
+      if (result == ReserveResult.RESERVED) {
+        reserved++;
+      } else {
+        assertEquals(ReserveResult.CONFLICT, result, "Losers should be rejected as conflicts");
+      }
+    }
+    assertEquals(1, reserved, "Exactly one overlapping booking should win");
+    assertEquals(1, database.getAllReservations().size());
+  }
+
+  @Test
+  public void testReserveResultCodes() {
+    Reservations first =
+        new Reservations("R1", "john123", "2025-11-15", "09:00", 2, "Hole 1", 60.0);
+    assertEquals(ReserveResult.RESERVED, database.reserve(first, null));
+    assertEquals(
+        ReserveResult.DUPLICATE_ID,
+        database.reserve(
+            new Reservations("R1", "jane456", "2025-11-16", "09:00", 2, "Hole 1", 60.0), null));
+    assertEquals(
+        ReserveResult.CONFLICT,
+        database.reserve(
+            new Reservations("R2", "jane456", "2025-11-15", "10:00", 2, "Hole 1", 60.0), null));
+    assertEquals(
+        ReserveResult.INVALID,
+        database.reserve(
+            new Reservations("R2", "jane456", "2025-11-15", "soon", 2, "Hole 1", 60.0), null));
+    assertEquals(
+        ReserveResult.NOT_FOUND,
+        database.reserve(
+            new Reservations("R2", "jane456", "2025-11-15", "13:00", 2, "Hole 1", 60.0), "R9"));
+
+    // An edit may overlap the reservation it replaces, and swaps the two in one step
+    Reservations moved =
+        new Reservations("R3", "john123", "2025-11-15", "10:00", 2, "Hole 1", 60.0);
+    assertEquals(ReserveResult.RESERVED, database.reserve(moved, "R1"));
+    assertNull(database.findReservation("R1"));
+    assertSame(moved, database.findReservation("R3"));
+
+    // Tee times also check spots, and a virtual slot is stored with its first booking
+    TeeTime slot = new TeeTime("TT-slot", "2025-11-15", "14:00", "Hole 2", 4, 30.0);
+    assertEquals(
+        ReserveResult.FULL,
+        database.reserve(
+            slot, new Reservations("R4", "jane456", "2025-11-15", "14:00", 5, "Hole 2", 150.0)));
+    assertNull(database.findTeeTime("TT-slot"), "Rejected bookings store nothing");
+    assertEquals(
+        ReserveResult.INVALID,
+        database.reserve(
+            slot, new Reservations("R4", "jane456", "2025-11-15", "14:30", 2, "Hole 2", 60.0)));
+    Reservations booked =
+        new Reservations("R4", "jane456", "2025-11-15", "14:00", 3, "Hole 2", 90.0);
+    assertEquals(ReserveResult.RESERVED, database.reserve(slot, booked));
+    assertSame(slot, database.findTeeTime("TT-slot"));
+    assertEquals(1, slot.getAvailableSpots());
+  }
+
+  @Test
+  public void testCancelledSpotsCanBeBookedAgain() {
+    String date = LocalDate.now().plusDays(1).toString();
+    TeeTime teeTime = new TeeTime("TT1", date, "08:00", "Hole 1", 4, 30.0);
+    database.addTeeTime(teeTime);
+
+    Reservations full = new Reservations("R1", "john123", date, "08:00", 4, "Hole 1", 120.0);
+    assertEquals(ReserveResult.RESERVED, database.reserve(teeTime, full));
+    assertTrue(teeTime.isFullyBooked());
+    assertTrue(database.removeReservation("R1"));
+    assertEquals(4, teeTime.getAvailableSpots(), "Cancelling gives the spots back");
+    assertEquals(
+        ReserveResult.RESERVED,
+        database.reserve(
+            teeTime, new Reservations("R2", "jane456", date, "08:00", 4, "Hole 1", 120.0)));
+    assertTrue(teeTime.isFullyBooked());
+    assertTrue(database.removeReservation("R2"));
+
+    // CREATE_RESERVATION books the stored tee time at the same date, time and tee box
+    assertEquals(
+        ReserveResult.FULL,
+        database.reserve(
+            new Reservations("R3", "john123", date, "08:00", 5, "Hole 1", 150.0), null));
+    assertEquals(
+        ReserveResult.RESERVED,
+        database.reserve(
+            new Reservations("R3", "john123", date, "08:00", 2, "Hole 1", 60.0), null));
+    assertEquals(2, teeTime.getReservedSpots());
+
+    // An edit frees its old spots before the new party is counted
+    assertEquals(
+        ReserveResult.RESERVED,
+        database.reserve(
+            new Reservations("R4", "john123", date, "08:00", 4, "Hole 1", 120.0), "R3"));
+    assertEquals(4, teeTime.getReservedSpots());
+    assertNotNull(teeTime.getReservation("R4"));
+    assertNull(teeTime.getReservation("R3"));
+
+    // A removed tee time no longer limits bookings at its slot
+    assertTrue(database.removeTeeTime("TT1"));
+    assertTrue(database.removeReservation("R4"));
+    assertEquals(
+        ReserveResult.RESERVED,
+        database.reserve(
+            new Reservations("R5", "john123", date, "08:00", 5, "Hole 1", 150.0), null));
+  }
+
+  @Test
+  public void testConcurrentSavesAreAllDurable() throws InterruptedException {
+    final int numThreads = 10;
+    Thread[] threads = new Thread[numThreads];
+    boolean[] saved = new boolean[numThreads];
+
+    for (int i = 0; i < numThreads; i++) {
+      final int threadNum = i;
+      threads[i] =
+          new Thread(
+              () -> {
+                database.addReservation(
+                    new Reservations(
+                        "R" + threadNum,
+                        "user" + threadNum,
+                        "2025-11-15",
+                        "09:00",
+                        4,
+                        "Hole " + threadNum,
+                        120.0));
+                try {
+                  database.saveToFile(); // returns only once this reservation is on disk
+                  saved[threadNum] = true;
+                } catch (IOException e) {
+                  saved[threadNum] = false;
+                }
+              });
+    }
+
+    for (Thread t : threads) {
+      t.start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+
+    Database.resetInstance();
+    Database newDb = Database.getInstance();
+    for (int i = 0; i < numThreads; i++) {
+      assertTrue(saved[i], "Save " + i + " should succeed");
+      assertNotNull(newDb.findReservation("R" + i), "R" + i + " should be on disk after its save");
+    }
+  }
+
+  @Test
+  public void testConcurrentWritesAcrossDaysStayConsistent() throws InterruptedException {
+    final int numThreads = 8;
+    final int numDays = 20;
+    Thread[] threads = new Thread[numThreads + 1];
+
+    // Each writer books its own tee box on every day, then cancels every other day
+    for (int i = 0; i < numThreads; i++) {
+      final int threadNum = i;
+      threads[i] =
+          new Thread(
+              () -> {
+                for (int day = 1; day <= numDays; day++) {
+                  database.addReservation(
+                      new Reservations(
+                          "R" + threadNum + "-" + day,
+                          "user" + threadNum,
+                          String.format("2025-11-%02d", day),
+                          "09:00",
+                          4,
+                          "Hole " + threadNum,
+                          120.0));
+                }
+                for (int day = 1; day <= numDays; day += 2) {
+                  database.removeReservation("R" + threadNum + "-" + day);
+                }
+              });
+    }
+    // A multi-day event locks every day it covers while the writers run
+    threads[numThreads] =
+        new Thread(
+            () ->
+                database.addPendingEvent(
+                    new Event(
+                        "E1",
+                        "Club Open",
+                        "2025-11-03",
+                        "08:00",
+                        100,
+                        "All",
+                        0.0,
+                        "2025-11-09",
+                        "17:00")));
+
+    for (Thread t : threads) {
+      t.start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+
+    assertEquals(
+        numThreads * numDays / 2 + 1,
+        database.getAllReservations().size(),
+        "Every add and remove should have applied exactly once");
+    for (int i = 0; i < numThreads; i++) {
+      for (int day = 1; day <= numDays; day++) {
+        boolean kept = day % 2 == 0;
+        assertEquals(
+            kept,
+            database.hasReservationConflict(
+                String.format("2025-11-%02d", day), "09:30", "Hole " + i, null),
+            "Conflict index should match R" + i + "-" + day);
+      }
+    }
+    assertNotNull(database.findPendingEvent("E1"), "Pending event should be stored");
+  }
+
+  @Test
+  public void testConflictChecksNeverMissDuringConcurrentWrites() throws InterruptedException {
+    database.addReservation(
+        new Reservations("R0", "john123", "2025-11-15", "09:00", 4, "Hole 1", 120.0));
+    boolean[] missed = new boolean[1];
+
+    // Bookings on other tee boxes of the same day keep replacing that day's index bucket
+    Thread writer =
+        new Thread(
+            () -> {
+              for (int i = 0; i < 500; i++) {
+                String id = "W" + i;
+                database.addReservation(
+                    new Reservations(
+                        id, "user", "2025-11-15", "09:00", 2, "Hole " + (2 + i % 8), 60.0));
+                database.removeReservation(id);
+              }
+            });
+    Thread reader =
+        new Thread(
+            () -> {
+              while (writer.isAlive()) {
+                if (!database.hasReservationConflict("2025-11-15", "10:00", "Hole 1", null)) {
+                  missed[0] = true;
+                }
+              }
+            });
+
+    writer.start();
+    reader.start();
+    writer.join();
+    reader.join();
+
+    assertFalse(missed[0], "R0 should be visible to every optimistic conflict check");
+    assertEquals(1, database.getAllReservations().size(), "Only R0 should remain");
+  }
 }
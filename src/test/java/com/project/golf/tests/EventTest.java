@@ -71,6 +71,12 @@ public class EventTest {
         });
   }
 
+  // TIME KEYS --------------------------------------------------
+  @Test
+  void testEndMinuteUsesEndDateAndTime() {
+    assertEquals(180, event.getEndMinute() - event.getStartMinute(), "09:00 to 12:00 is 3 hours");
+  }
+
   // INHERITED RESERVATIONS METHODS --------------------------------------------------
   @Test
   void testInheritedReservationsMethods() {
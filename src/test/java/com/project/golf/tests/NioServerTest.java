@@ -0,0 +1,149 @@
+package com.project.golf.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.project.golf.server.*;
+import java.io.*;
+import java.net.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.*;
+
+/**
+ * NioServerTest.java
+ *
+ * <p>Unit test suite for the selector-based NioServer. Tests that many clients are served by a
+ * fixed handful of threads, that pipelined commands come back in order, and that stop() closes
+ * every connection.
+ *
+ * <p>Data structures: NioServer instances, lists of client Sockets with their readers and writers.
+ * Algorithm: JUnit 5 with real loopback connections, polling for the server to start listening.
+ * Features: Many-client PING round trips, pipelining, partial lines, shutdown.
+ *
+ * @author Ethan Billau (ebillau), L15
+ * @version October 16, 2026
+ */
+public class NioServerTest {
+
+  private NioServer serverUnderTest = null;
+
+  @AfterEach
+  void tearDown() throws IOException {
+    if (serverUnderTest != null) {
+      serverUnderTest.stop();
+    }
+  }
+
+  // Test: 200 clients each get PONG from one selector and two worker threads, queue sized for all.
+  @Test
+  void testManyClientsShareFewThreads() throws Exception {
+    int port = 25101;
+    serverUnderTest = new NioServer(port, 1, 2, 256);
+    serverUnderTest.start();
+    List<Socket> clients = new ArrayList<>();
+    try {
+      for (int i = 0; i < 200; i++) {
+        clients.add(connect(port));
+      }
+      for (Socket client : clients) {
+        writer(client).println("PING");
+      }
+      for (Socket client : clients) {
+        assertEquals("RESP|OK|PONG", reader(client).readLine());
+      }
+      assertEquals(200, serverUnderTest.getConnectionCount(), "Every client should stay open");
+    } finally {
+      for (Socket client : clients) {
+        client.close();
+      }
+    }
+  }
+
+  // Test: commands sent together, one split across writes, are answered once each and in order.
+  @Test
+  void testPipelinedCommandsAnsweredInOrder() throws Exception {
+    int port = 25102;
+    serverUnderTest = new NioServer(port, 2, 4, 16);
+    serverUnderTest.start();
+    try (Socket client = connect(port)) {
+      OutputStream out = client.getOutputStream();
+      out.write("PING\r\nNOPE\n\nPI".getBytes("UTF-8"));
+      out.flush();
+      Thread.sleep(50);
+      out.write("NG\n".getBytes("UTF-8"));
+      out.flush();
+
+      BufferedReader in = reader(client);
+      assertEquals("RESP|OK|PONG", in.readLine());
+      assertEquals("RESP|ERROR|Unknown command: NOPE", in.readLine());
+      assertEquals("RESP|OK|PONG", in.readLine());
+    }
+  }
+
+  // Test: a client that closes its side after sending still gets its answer before the close.
+  @Test
+  void testHalfClosedClientGetsAnswer() throws Exception {
+    int port = 25103;
+    serverUnderTest = new NioServer(port, 1, 1, 4);
+    serverUnderTest.start();
+    try (Socket client = connect(port)) {
+      writer(client).println("PING");
+      client.shutdownOutput();
+      BufferedReader in = reader(client);
+      assertEquals("RESP|OK|PONG", in.readLine());
+      assertNull(in.readLine(), "Server should close once everything is answered");
+    }
+  }
+
+  // Test: stop() closes open client connections and frees the port.
+  @Test
+  void testStopClosesConnections() throws Exception {
+    int port = 25104;
+    serverUnderTest = new NioServer(port, 1, 1, 4);
+    serverUnderTest.start();
+    try (Socket client = connect(port)) {
+      writer(client).println("PING");
+      BufferedReader in = reader(client);
+      assertEquals("RESP|OK|PONG", in.readLine());
+
+      serverUnderTest.stop();
+      client.setSoTimeout(2000);
+      assertNull(in.readLine(), "Client should see end of stream after stop()");
+    }
+    Thread.sleep(200);
+    assertThrows(ConnectException.class, () -> new Socket("localhost", port).close());
+  }
+
+  // Test: stopping a server that never started does not throw.
+  @Test
+  void testStopBeforeStartIsSafe() {
+    serverUnderTest = new NioServer(25105, 1, 1, 1);
+    assertDoesNotThrow(() -> serverUnderTest.stop());
+    assertEquals(25105, serverUnderTest.getPort());
+  }
+
+  /** Connects once the server is listening, retrying for up to two seconds */
+  private Socket connect(int port) throws Exception {
+    long deadline = System.currentTimeMillis() + 2000;
+    while (true) {
+      try {
+        Socket socket = new Socket("localhost", port);
+        socket.setSoTimeout(5000);
+        return socket;
+      } catch (ConnectException e) {
+        if (System.currentTimeMillis() > deadline) {
+          throw e;
+        }
+        Thread.sleep(50);
+      }
+    }
+  }
+
+  private PrintWriter writer(Socket socket) throws IOException {
+    return new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), "UTF-8"), true);
+  }
+
+  private BufferedReader reader(Socket socket) throws IOException {
+    return new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+  }
+}
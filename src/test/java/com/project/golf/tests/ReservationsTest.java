@@ -2,7 +2,11 @@ package com.project.golf.tests;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.project.golf.events.*;
 import com.project.golf.reservation.*;
+import com.project.golf.utils.RecordReader;
+import java.io.IOException;
+import java.io.StringReader;
 import org.junit.jupiter.api.*;
 
 /**
@@ -107,6 +111,26 @@ public class ReservationsTest {
     assertFalse(testReservation.getIsPaid(), "New reservation should not be paid by default");
   }
 
+  @Test
+  void testStartMinuteIsExactAndFormatIndependent() {
+    Reservations twentyFourHour =
+        new Reservations("R005", "maya_user", "2024-11-15", "10:00", 4, "Hole 1", 120.00);
+    assertEquals(twentyFourHour.getStartMinute(), testReservation.getStartMinute());
+
+    Reservations jan31 =
+        new Reservations("R006", "maya_user", "2025-01-31", "11:00 PM", 4, "Hole 1", 0.0);
+    Reservations feb1 =
+        new Reservations("R007", "maya_user", "2025-02-01", "12:30 AM", 4, "Hole 1", 0.0);
+    assertEquals(90, feb1.getStartMinute() - jan31.getStartMinute(), "Month boundary is exact");
+    assertEquals(jan31.getStartMinute() + 120, jan31.getEndMinute());
+  }
+
+  @Test
+  void testStartMinuteUnparseable() {
+    Reservations bad = new Reservations("R008", "maya_user", "11/15/2024", "ten", 4, "Hole 1", 0);
+    assertEquals(0, bad.getStartMinute(), "Malformed date/time should fall back to 0");
+  }
+
   // TOSTRING METHODS --------------------------------------------------
 
   @Test
@@ -160,4 +184,59 @@ public class ReservationsTest {
         result.contains("R999") && result.contains("jane_smith"),
         "toString should contain new reservation data");
   }
+
+  // FILE FORMAT --------------------------------------------------
+
+  @Test
+  void testFileStringRoundTrip() {
+    testReservation.setPending(true);
+    Reservations loaded = Reservations.fromFileString(testReservation.toFileString());
+    assertNotNull(loaded);
+    assertEquals("R001", loaded.getReservationId());
+    assertEquals(4, loaded.getPartySize());
+    assertEquals(120.00, loaded.getPrice(), 0.001);
+    assertTrue(loaded.isPending(), "Pending flag should survive the round trip");
+    assertEquals(testReservation.getStartMinute(), loaded.getStartMinute());
+  }
+
+  @Test
+  void testFromFileStringEventAndInvalidLines() {
+    Reservations event =
+        Reservations.fromFileString(
+            "EVENT,E1,admin,2025-11-15,09:00,200,All,500.00,false,2025-11-16,17:00,true");
+    assertTrue(event instanceof Event, "EVENT lines should decode to an Event");
+    assertTrue(event.isPending());
+    assertEquals("2025-11-16", ((Event) event).getEndDate());
+
+    assertNull(Reservations.fromFileString(null));
+    assertNull(Reservations.fromFileString("   "));
+    assertNull(Reservations.fromFileString("R1,user,2025-11-15,09:00"), "Too few fields");
+    assertNull(Reservations.fromFileString("R1,user,2025-11-15,09:00,four,Hole 1,1.0,false"));
+  }
+
+  @Test
+  void testRecordReaderReportsMalformedLineNumbers() throws IOException {
+    String text =
+        "R1,a,2025-11-15,09:00,4,Hole 1,120.00,true\r\n"
+            + "\n"
+            + "R2,b,2025-11-15,10:00,x,Hole 2,60.00,false\n"
+            + "R3,c,2025-11-16,11:00,2,Hole 3,1e2,false";
+    try (RecordReader records = new RecordReader(new StringReader(text))) {
+      assertTrue(records.next());
+      Reservations first = Reservations.fromRecord(records);
+      assertTrue(first.getIsPaid());
+      assertEquals("Hole 1", first.getTeeBox());
+
+      assertTrue(records.next(), "Blank lines are skipped");
+      assertEquals(3, records.lineNumber());
+      RecordReader.MalformedRecordException e =
+          assertThrows(
+              RecordReader.MalformedRecordException.class, () -> Reservations.fromRecord(records));
+      assertTrue(e.getMessage().startsWith("line 3"), e.getMessage());
+
+      assertTrue(records.next());
+      assertEquals(100.0, Reservations.fromRecord(records).getPrice(), 0.001);
+      assertFalse(records.next());
+    }
+  }
 }
@@ -264,6 +264,33 @@ public class ServerWorkerTest {
     assertTrue(response.contains("requires a date"), "Error should mention missing date");
   }
 
+  // Test: FIND_TT with missing arguments or a bad count returns errors.
+  // How: Send FIND_TT without a count, then with a non-numeric one, verify ERROR responses.
+  @Test
+  void testFindTeeTimesInvalidArgs() throws Exception {
+    startWorker();
+
+    clientOut.println("FIND_TT|2025-11-20|2025-11-21|2");
+    String response = clientIn.readLine();
+    assertTrue(response.startsWith("RESP|ERROR"), "FIND_TT without count should fail");
+
+    clientOut.println("FIND_TT|2025-11-20|2025-11-21|2|many");
+    response = clientIn.readLine();
+    assertTrue(response.startsWith("RESP|ERROR"), "FIND_TT with invalid count should fail");
+  }
+
+  // Test: FIND_TT over past dates finds nothing to book.
+  // How: Send FIND_TT for a past date range, verify empty OK response.
+  @Test
+  void testFindTeeTimesPastDates() throws Exception {
+    startWorker();
+
+    clientOut.println("FIND_TT|2020-01-01|2020-01-31|2|5");
+    String response = clientIn.readLine();
+
+    assertEquals("RESP|OK|", response, "Past dates cannot be booked");
+  }
+
   // Test: BOOK_TT successfully books a tee time.
   // How: Send BOOK_TT command with valid parameters, verify OK response with reservation data.
   @Test
@@ -3,6 +3,11 @@ package com.project.golf.tests;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.project.golf.reservation.*;
+import com.project.golf.utils.IdGenerator;
+import java.util.Set;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
 import org.junit.jupiter.api.*;
 
 /**
@@ -389,6 +394,94 @@ public class TeeTimeTest {
     assertTrue(teeTime.isFullyBooked());
   }
 
+  @Test
+  public void testStressBookingNeverOverbooks() throws InterruptedException {
+    final int numThreads = 8;
+    final int rounds = 2000;
+    TeeTime[] slots = new TeeTime[rounds];
+    for (int r = 0; r < rounds; r++) {
+      slots[r] = new TeeTime("2025-11-15", "09:00", "Hole 1", 4, 30.0, 50.0);
+    }
+    boolean[] overbooked = new boolean[1];
+    CyclicBarrier start = new CyclicBarrier(numThreads);
+    Thread[] threads = new Thread[numThreads];
+
+    for (int i = 0; i < numThreads; i++) {
+      final int index = i;
+      threads[i] =
+          new Thread(
+              () -> {
+                try {
+                  for (int r = 0; r < rounds; r++) {
+                    if (r % 100 == 0) {
+                      start.await(); // line the threads up again so they collide on one slot
+                    }
+                    TeeTime slot = slots[r];
+                    Reservations res = slot.bookTeeTime(1 + (index + r) % 3, "user" + index);
+                    if (res != null && (index + r) % 4 == 0) {
+                      slot.cancelReservation(res.getReservationId());
+                    }
+                    if (slot.getReservedSpots() > slot.getMaxPartySize()) {
+                      overbooked[0] = true;
+                    }
+                  }
+                } catch (InterruptedException | BrokenBarrierException e) {
+                  overbooked[0] = true;
+                }
+              });
+    }
+    for (Thread t : threads) {
+      t.start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+
+    assertFalse(overbooked[0], "No read should ever see more spots reserved than exist");
+    for (TeeTime slot : slots) {
+      int booked = 0;
+      for (Reservations res : slot.getReservations()) {
+        booked += res.getPartySize();
+      }
+      assertEquals(booked, slot.getReservedSpots(), "Counter should match the bookings kept");
+      assertTrue(booked <= slot.getMaxPartySize(), "Slot should never be overbooked");
+      assertEquals(slot.getMaxPartySize() - booked, slot.getAvailableSpots());
+    }
+  }
+
+  @Test
+  public void testConcurrentIdsNeverCollide() throws InterruptedException {
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+    Thread[] threads = new Thread[8];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] =
+          new Thread(
+              () -> {
+                for (int k = 0; k < 5000; k++) {
+                  ids.add(IdGenerator.nextReservationId());
+                }
+              });
+      threads[i].start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+    assertEquals(8 * 5000, ids.size(), "Every generated ID should be distinct");
+  }
+
+  @Test
+  public void testIdsSortAfterObservedIds() {
+    String loaded = IdGenerator.nextTeeTimeId();
+    long loadedValue = Long.parseLong(loaded.substring(2));
+    // An ID written far in the future, as if the clock went back since the last run
+    String future = "TT" + (loadedValue + (1L << 40));
+    IdGenerator.observe(future);
+    IdGenerator.observe("TT-not-a-number");
+    TeeTime created = new TeeTime("2025-11-15", "09:00", "Hole 2", 4, 30.0, 50.0);
+    long next = Long.parseLong(created.getTeeTimeId().substring(2));
+    assertTrue(next > loadedValue + (1L << 40), "New IDs should follow every observed ID");
+  }
+
   // EQUALS AND TOSTRING --------------------------------------------------
 
   @Test